@@ -0,0 +1,71 @@
+package com.dev.taskmanagement.benchmark;
+
+import com.dev.taskmanagement.TaskManagementApplication;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.TaskPriority;
+import com.dev.taskmanagement.model.TaskStatus;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.TaskRepository;
+import com.dev.taskmanagement.repository.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Запуск приложения для бенчмарков: профиль test (H2 в памяти), случайный порт,
+ * без SQL-логирования, которое иначе доминирует во времени измерений.
+ */
+public final class BenchmarkContext {
+    private static final String[] DEFAULT_PROPERTIES = {
+            "spring.profiles.active=test",
+            "server.port=0",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.generate_statistics=false",
+            "logging.level.root=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Запускает приложение; свойства передаются как аргументы командной строки
+     * и переопределяют application.properties.
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(TaskManagementApplication.class)
+                .run(Stream.concat(Stream.of(DEFAULT_PROPERTIES), Stream.of(properties))
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+    }
+
+    /**
+     * Создает задачи, пока их количество не достигнет {@code count}.
+     * Автор - администратор (ID 1), каждая вторая задача назначена обычному пользователю (ID 2).
+     */
+    public static void seedTasks(ConfigurableApplicationContext context, int count) {
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User admin = userRepository.findById(1L).orElseThrow();
+        User user = userRepository.findById(2L).orElseThrow();
+
+        List<Task> tasks = new ArrayList<>();
+        for (long i = taskRepository.count(); i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Benchmark task " + i);
+            task.setDescription("Benchmark task description " + i);
+            task.setStatus(TaskStatus.values()[(int) (i % TaskStatus.values().length)]);
+            task.setPriority(TaskPriority.values()[(int) (i % TaskPriority.values().length)]);
+            task.setDueDate(LocalDateTime.now().plusDays(i % 30));
+            task.setAuthor(admin);
+            task.setAssignee(i % 2 == 0 ? user : null);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+    }
+}
@@ -0,0 +1,113 @@
+package com.dev.taskmanagement.controller;
+
+import com.dev.taskmanagement.benchmark.BenchmarkContext;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.UserRepository;
+import com.dev.taskmanagement.service.auth.JWTService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Нагрузочный тест HTTP API: пачка одновременных клиентов запрашивает страницу списка задач
+ * обычного пользователя при обработке запросов Tomcat на платформенных и на виртуальных потоках.
+ * Кэш страниц taskPages выключен, поэтому каждый запрос блокируется на JDBC (ID видимых задач, COUNT
+ * и загрузка задач). Пул соединений - как в application.properties (5),
+ * число одновременных клиентов больше пула потоков Tomcat по умолчанию (200).
+ * <p>
+ * Основной результат считает все ответы; успешные (200) и неуспешные (например, 503 при исчерпании
+ * пула соединений) ответы в секунду выводятся отдельно как {@code ok} и {@code failed}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskApiLoadBenchmark {
+    private static final int CONCURRENT_CLIENTS = 500;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    /**
+     * Ответы по статусу за итерацию.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+        public long ok;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.datasource.hikari.maximum-pool-size=5",
+                "spring.datasource.hikari.connection-timeout=2000",
+                "server.tomcat.max-connections=10000",
+                "server.tomcat.accept-count=1000",
+                "app.cache.specs.taskPages=");
+        BenchmarkContext.seedTasks(context, 100);
+        User user = context.getBean(UserRepository.class).findById(2L).orElseThrow();
+        String token = context.getBean(JWTService.class).generateToken(user);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?page=0&size=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.close();
+        context.close();
+    }
+
+    /**
+     * Одна операция - {@value #CONCURRENT_CLIENTS} одновременных запросов; результат в запросах в секунду.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_CLIENTS)
+    public void concurrentListTasks(Responses responses) {
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[CONCURRENT_CLIENTS];
+        for (int i = 0; i < CONCURRENT_CLIENTS; i++) {
+            pending[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(pending).join();
+        for (CompletableFuture<?> response : pending) {
+            if (((HttpResponse<?>) response.join()).statusCode() == 200) {
+                responses.ok++;
+            } else {
+                responses.failed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.benchmark.BenchmarkContext;
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.TaskRepository;
+import com.dev.taskmanagement.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячее чтение одной задачи при попадании в кэш tasks: сериализация TaskResponse Jackson
+ * на каждый запрос против готовых байтов из {@link TaskJsonCache}.
+ * Обращение к TaskService в обоих путях одинаковое и не измеряется; тело ответа пишется в пустой поток,
+ * поэтому результат - стоимость подготовки JSON.
+ * Аллокации на операцию - с профилировщиком {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskJsonCacheBenchmark {
+    private ConfigurableApplicationContext context;
+    private TaskJsonCache taskJsonCache;
+    private ObjectMapper objectMapper;
+    private OutputStream out;
+    private TaskResponse task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "app.cache.specs.taskJson=maximumSize=10000,recordStats");
+        BenchmarkContext.seedTasks(context, 10);
+        taskJsonCache = context.getBean(TaskJsonCache.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        // Как поток ответа в конвертере Spring: Jackson закрывает цель после записи, закрытие игнорируется
+        out = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+        User admin = context.getBean(UserRepository.class).findById(1L).orElseThrow();
+        Long taskId = context.getBean(TaskRepository.class)
+                .findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0).getId();
+        task = context.getBean(TaskService.class).getTaskById(taskId, admin);
+        // Прогрев кэша байтов: измеряется только путь попадания
+        taskJsonCache.toJson(task);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void serializeCachedResponse() throws IOException {
+        objectMapper.writeValue(out, task);
+    }
+
+    @Benchmark
+    public void writeSerializedJson() throws IOException {
+        out.write(taskJsonCache.toJson(task));
+    }
+}
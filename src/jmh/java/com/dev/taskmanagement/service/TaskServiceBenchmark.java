@@ -0,0 +1,98 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.benchmark.BenchmarkContext;
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.TaskFilter;
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.TaskRepository;
+import com.dev.taskmanagement.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие пути TaskService: преобразование задачи в TaskResponse, получение страницы задач
+ * из БД и из кэша, сериализация страницы в JSON.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"1000"})
+    private int taskCount;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private CacheManager cacheManager;
+    private ObjectMapper objectMapper;
+    private User admin;
+    private User user;
+    private Task task;
+    private List<TaskResponse> responses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seedTasks(context, taskCount);
+        taskService = context.getBean(TaskService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        admin = userRepository.findById(1L).orElseThrow();
+        user = userRepository.findById(2L).orElseThrow();
+
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+        task = context.getBean(TransactionTemplate.class).execute(status ->
+                taskRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0));
+        responses = taskService.getAllTasks(0, pageSize, "createdAt", "DESC", TaskFilter.none(), admin).getContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse convertToResponse() {
+        return taskService.convertToResponse(task);
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> getAllTasksAsAdmin() {
+        cacheManager.getCache(TaskCacheKeys.TASK_PAGES_CACHE).clear();
+        return taskService.getAllTasks(5, pageSize, "createdAt", "DESC", TaskFilter.none(), admin);
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> getAllTasksAsUser() {
+        cacheManager.getCache(TaskCacheKeys.TASK_PAGES_CACHE).clear();
+        return taskService.getAllTasks(5, pageSize, "createdAt", "DESC", TaskFilter.none(), user);
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> getAllTasksCached() {
+        return taskService.getAllTasks(0, pageSize, "createdAt", "DESC", TaskFilter.none(), admin);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,45 @@
+package com.dev.taskmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Конфигурация кэшей приложения.
+ * Каждый кэш создается со своей спецификацией размера и TTL из {@link CacheSpecProperties}.
+ * Кэши с неизвестными именами не создаются, обращение к ним завершается ошибкой.
+ * Пустая спецификация тоже не создает кэш: так отключаются необязательные кэши
+ * ({@code taskPages}, {@code taskJson}), без которых данные читаются из БД.
+ * Без спецификации обязательных кэшей ({@code tasks}, {@code users}, {@code principals}) приложение не запускается.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig {
+    private static final Set<String> REQUIRED_CACHES = Set.of("tasks", "users", "principals");
+
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        REQUIRED_CACHES.forEach(name -> {
+            String spec = properties.specs().get(name);
+            if (spec == null || spec.isBlank()) {
+                throw new IllegalStateException("Cache spec app.cache.specs." + name + " must not be blank");
+            }
+        });
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        properties.specs().forEach((name, spec) -> {
+            if (!spec.isBlank()) {
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).build());
+            }
+        });
+        return cacheManager;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dev.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Спецификации Caffeine для каждого кэша приложения.
+ * Ключ - имя кэша, значение - строка в формате {@link com.github.benmanes.caffeine.cache.CaffeineSpec},
+ * например {@code app.cache.specs.tasks=maximumSize=10000,expireAfterWrite=10m,recordStats}.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record CacheSpecProperties(Map<String, String> specs) {
+
+    public CacheSpecProperties {
+        specs = specs == null ? Map.of() : Map.copyOf(specs);
+    }
+}
@@ -29,7 +29,9 @@ public class CorsConfig {
             "Origin, Accept",
             "X-Requested-With",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"
+            "Access-Control-Request-Headers",
+            "If-Match",
+            "If-None-Match"
         ));
         corsConfiguration.setExposedHeaders(Arrays.asList(
             "Origin",
@@ -37,7 +39,8 @@ public class CorsConfig {
             "Accept",
             "Authorization",
             "Access-Control-Allow-Origin",
-            "Access-Control-Allow-Credentials"
+            "Access-Control-Allow-Credentials",
+            "ETag"
         ));
         corsConfiguration.setAllowedMethods(Arrays.asList(
             "GET",
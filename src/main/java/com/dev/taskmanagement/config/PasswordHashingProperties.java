@@ -0,0 +1,20 @@
+package com.dev.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Параметры хеширования паролей.
+ * {@code strength} - log2 числа раундов BCrypt; пароли, сохраненные с меньшей стоимостью,
+ * перехешируются при следующем успешном входе.
+ * {@code threads} и {@code queueCapacity} ограничивают пул, на котором выполняется хеширование:
+ * при заполненной очереди запросы отклоняются с 429.
+ */
+@ConfigurationProperties(prefix = "app.security.password")
+public record PasswordHashingProperties(int strength, int threads, int queueCapacity) {
+
+    public PasswordHashingProperties {
+        strength = strength == 0 ? 10 : strength;
+        threads = threads == 0 ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : threads;
+        queueCapacity = queueCapacity == 0 ? 100 : queueCapacity;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dev.taskmanagement.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Чтение из основной БД внутри транзакции только для чтения. Нужно для данных, которые сохраняются
+ * в общие кэши: строка, прочитанная с отстающей реплики, осталась бы в кэше на всё время жизни записи
+ * и вернулась бы в том числе автору изменения. Каждое такое чтение нагружает основную БД, поэтому
+ * используется только для данных, измененных в пределах окна отставания реплики, и для записей кэша
+ * старее известной версии; остальные промахи кэша читаются с реплики.
+ * Действует, только если транзакция еще не получила соединение (до первого SQL-запроса); без реплики ничего не меняет.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Выполняет чтение, направляя транзакции только для чтения в основную БД.
+     *
+     * @param read Чтение
+     * @return Результат чтения
+     */
+    public static <T> T call(Supplier<T> read) {
+        if (Boolean.TRUE.equals(ACTIVE.get())) {
+            return read.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+}
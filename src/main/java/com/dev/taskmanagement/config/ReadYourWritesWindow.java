@@ -0,0 +1,56 @@
+package com.dev.taskmanagement.config;
+
+import com.dev.taskmanagement.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Окно "чтения своих записей": после того как пользователь изменил данные, его транзакции только для чтения
+ * в течение {@code window} идут в основную БД, а не в реплику, которая может отставать.
+ * Пользователь определяется по principal текущего запроса; анонимные операции окно не открывают.
+ */
+public class ReadYourWritesWindow {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Открывает (или продлевает) окно для пользователя.
+     *
+     * @param userId ID пользователя; null игнорируется
+     */
+    public void recordWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Проверяет, открыто ли окно для текущего пользователя.
+     *
+     * @return true, если текущий пользователь изменял данные в пределах окна
+     */
+    public boolean isOpenForCurrentUser() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    /**
+     * ID пользователя текущего запроса или null, если запрос анонимный.
+     */
+    public static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dev.taskmanagement.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Источник соединений для транзакций только для чтения: реплика,
+ * либо основная БД, если у текущего пользователя открыто {@link ReadYourWritesWindow окно чтения своих записей}
+ * или чтение идет для общего кэша ({@link PrimaryReads}).
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesWindow readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        setLenientFallback(false);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return PrimaryReads.isActive() || readYourWritesWindow.isOpenForCurrentUser() ? PRIMARY : REPLICA;
+    }
+}
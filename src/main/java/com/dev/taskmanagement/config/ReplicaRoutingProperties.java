@@ -0,0 +1,18 @@
+package com.dev.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Параметры маршрутизации соединений между основной БД и репликой.
+ * {@code readYourWritesWindow} - сколько после своего изменения пользователь читает из основной БД;
+ * должно перекрывать типичное отставание реплики.
+ */
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public record ReplicaRoutingProperties(Duration readYourWritesWindow) {
+
+    public ReplicaRoutingProperties {
+        readYourWritesWindow = readYourWritesWindow == null ? Duration.ofSeconds(5) : readYourWritesWindow;
+    }
+}
@@ -0,0 +1,20 @@
+package com.dev.taskmanagement.config;
+
+import com.dev.taskmanagement.service.TaskEventStream;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация потока событий задач GET /api/tasks/stream.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskStreamProperties.class)
+public class TaskStreamConfig {
+
+    @Bean
+    public TaskEventStream taskEventStream(TaskStreamProperties properties) {
+        return new TaskEventStream(properties.bufferSize(), properties.maxConnectionsPerUser(),
+                properties.timeout(), properties.heartbeat());
+    }
+}
@@ -0,0 +1,24 @@
+package com.dev.taskmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Параметры потока событий задач (SSE).
+ * {@code bufferSize} - сколько задач с неотправленными событиями хранится на одно подключение;
+ * при переполнении буфер очищается и клиент получает одно событие {@code resync}.
+ * {@code maxConnectionsPerUser} - число одновременных подключений пользователя, сверх него - 429.
+ * {@code timeout} - время жизни подключения, после которого клиент переподключается;
+ * {@code heartbeat} - интервал комментариев, не дающих прокси закрыть простаивающее соединение.
+ */
+@ConfigurationProperties(prefix = "app.tasks.stream")
+public record TaskStreamProperties(int bufferSize, int maxConnectionsPerUser, Duration timeout, Duration heartbeat) {
+
+    public TaskStreamProperties {
+        bufferSize = bufferSize == 0 ? 256 : bufferSize;
+        maxConnectionsPerUser = maxConnectionsPerUser == 0 ? 5 : maxConnectionsPerUser;
+        timeout = timeout == null ? Duration.ofMinutes(30) : timeout;
+        heartbeat = heartbeat == null ? Duration.ofSeconds(25) : heartbeat;
+    }
+}
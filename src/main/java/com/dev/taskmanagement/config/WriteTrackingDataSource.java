@@ -0,0 +1,55 @@
+package com.dev.taskmanagement.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Основная БД для пишущих транзакций. Соединение запрашивается только при первом SQL-запросе
+ * (LazyConnectionDataSourceProxy), поэтому его получение означает работу с БД в пишущей транзакции:
+ * после коммита для текущего пользователя открывается {@link ReadYourWritesWindow окно чтения своих записей}.
+ * Вне транзакции окно открывается сразу.
+ */
+class WriteTrackingDataSource extends DelegatingDataSource {
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    WriteTrackingDataSource(DataSource primary, ReadYourWritesWindow readYourWritesWindow) {
+        super(primary);
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        recordWrite();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        recordWrite();
+        return connection;
+    }
+
+    private void recordWrite() {
+        Long userId = ReadYourWritesWindow.currentUserId();
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWritesWindow.recordWrite(userId);
+                }
+            });
+        } else {
+            readYourWritesWindow.recordWrite(userId);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.dev.taskmanagement.controller;
 
+import com.dev.taskmanagement.dto.CursorPageResponse;
+import com.dev.taskmanagement.dto.PageResponse;
 import com.dev.taskmanagement.dto.comment.CommentRequest;
 import com.dev.taskmanagement.dto.comment.CommentResponse;
 import com.dev.taskmanagement.model.User;
@@ -19,8 +21,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/comments")
 @RequiredArgsConstructor
@@ -57,7 +57,7 @@ public class CommentController {
     @GetMapping("/{taskId}")
     @Operation(
         summary = "Get task comments",
-        description = "Retrieves all comments for a specific task. Only accessible by task author, assignee, or admin."
+        description = "Retrieves a page of comments for a specific task, oldest first. Only accessible by task author, assignee, or admin."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -70,10 +70,38 @@ public class CommentController {
         @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @PreAuthorize("hasRole('ROLE_ADMIN') or @commentService.isCommentAllowed(#taskId, authentication.principal)")
-    public ResponseEntity<List<CommentResponse>> getComments(
+    public ResponseEntity<PageResponse<CommentResponse>> getComments(
+            @Parameter(description = "ID of the task to get comments for", required = true)
+            @PathVariable Long taskId,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of comments per page (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getComments(taskId, page, size));
+    }
+
+    @GetMapping("/{taskId}/scroll")
+    @Operation(
+        summary = "Scroll task comments by cursor",
+        description = "Retrieves comments for a specific task, oldest first, using keyset pagination. " +
+                "Pass nextCursor from the previous response to get the following page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have access to this task's comments"),
+        @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or @commentService.isCommentAllowed(#taskId, authentication.principal)")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> scrollComments(
             @Parameter(description = "ID of the task to get comments for", required = true)
-            @PathVariable Long taskId) {
-        return ResponseEntity.ok(commentService.getComments(taskId));
+            @PathVariable Long taskId,
+            @Parameter(description = "Opaque cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of comments per page (max 100)", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getCommentsByCursor(taskId, cursor, size));
     }
 
     @DeleteMapping("/{commentId}")
@@ -1,24 +1,44 @@
 package com.dev.taskmanagement.controller;
 
 import com.dev.taskmanagement.dto.AssignTaskRequest;
+import com.dev.taskmanagement.dto.CursorPageResponse;
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.BulkStatusRequest;
+import com.dev.taskmanagement.dto.task.BulkTaskRequest;
+import com.dev.taskmanagement.dto.task.BulkTaskResponse;
+import com.dev.taskmanagement.dto.task.BulkUpdateRequest;
+import com.dev.taskmanagement.dto.task.TaskExportFormat;
+import com.dev.taskmanagement.dto.task.TaskFilter;
 import com.dev.taskmanagement.dto.task.TaskRequest;
 import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.exception.PreconditionFailedException;
 import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.service.TaskEventStream;
+import com.dev.taskmanagement.service.TaskExportService;
+import com.dev.taskmanagement.service.TaskJsonCache;
 import com.dev.taskmanagement.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -26,8 +46,13 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 @Tag(name = "Task Management", description = "APIs for managing tasks")
 public class TaskController {
+    // Данные пользовательские: кэшировать только в клиенте и всегда перепроверять по ETag
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
 
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskJsonCache taskJsonCache;
+    private final TaskEventStream taskEventStream;
 
     @PostMapping
     @Operation(
@@ -49,37 +74,124 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(request, currentUser.getId()));
     }
 
+    @PostMapping("/bulk")
+    @Operation(
+        summary = "Create tasks in bulk",
+        description = "Creates up to 1000 tasks in a single transaction. Items with an unknown assignee are reported as failed, the rest are created."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
+    public ResponseEntity<BulkTaskResponse> createTasks(
+            @Parameter(description = "Tasks to create", required = true)
+            @Valid @RequestBody BulkTaskRequest request,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(taskService.createTasks(request.getTasks(), currentUser.getId()));
+    }
+
+    @PatchMapping("/bulk/status")
+    @Operation(
+        summary = "Update task statuses in bulk",
+        description = "Updates the status of up to 1000 tasks in a single transaction. Missing tasks and tasks the user may not modify are reported as failed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
+    public ResponseEntity<BulkTaskResponse> updateTaskStatuses(
+            @Parameter(description = "Status changes", required = true)
+            @Valid @RequestBody BulkStatusRequest request,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(taskService.updateTaskStatuses(request.getChanges(), currentUser));
+    }
+
+    @PutMapping("/bulk")
+    @Operation(
+        summary = "Update tasks in bulk",
+        description = "Updates up to 1000 tasks in a single transaction with the same rules as PUT /api/tasks/{id}: admins update all fields, assignees only the status. " +
+                "Missing tasks, tasks the user may not modify and repeated task IDs are reported as failed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch processed, see per-item results"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role"),
+        @ApiResponse(responseCode = "409", description = "A task was modified concurrently, the batch was not applied")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
+    public ResponseEntity<BulkTaskResponse> updateTasks(
+            @Parameter(description = "Task updates", required = true)
+            @Valid @RequestBody BulkUpdateRequest request,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(taskService.updateTasks(request.getUpdates(), currentUser));
+    }
+
     @GetMapping("/{taskId}")
     @Operation(
         summary = "Get task by ID",
-        description = "Retrieves task details by ID. User must be either an admin, the task author, or the assignee."
+        description = "Retrieves task details by ID. User must be either an admin, the task author, or the assignee. " +
+                "The response carries a strong ETag of the task version; with a matching If-None-Match the answer is 304."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Task found successfully"),
+        @ApiResponse(responseCode = "200", description = "Task found successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Task has not changed since the version in If-None-Match"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have access to this task"),
         @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @PreAuthorize("hasRole('ROLE_ADMIN') or @taskService.isTaskAccessible(#taskId, authentication.principal)")
-    public ResponseEntity<TaskResponse> getTaskById(
+    public ResponseEntity<?> getTaskById(
             @Parameter(description = "ID of the task to retrieve", required = true)
             @PathVariable Long taskId,
             @Parameter(hidden = true)
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(taskService.getTaskById(taskId, currentUser));
+            @AuthenticationPrincipal User currentUser,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        // Версия проверяется легким запросом, TaskResponse не строится и не сериализуется
+        Long version = null;
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            version = taskService.getTaskVersion(taskId, currentUser);
+            String etag = TaskETags.of(version);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+        }
+        // С известной версией ответ из кэша не старее её: ETag ответа 200 согласован с проверкой 304
+        TaskResponse task = taskService.getTaskById(taskId, version, currentUser);
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).cacheControl(REVALIDATE);
+        // Готовый JSON этой версии задачи пишется в ответ как есть, без повторной сериализации
+        byte[] json = taskJsonCache.toJson(task);
+        if (json == null) {
+            return ok.body(task);
+        }
+        return ok.contentType(MediaType.APPLICATION_JSON).body(json);
     }
 
     @PutMapping("/{taskId}")
     @Operation(
         summary = "Update a task",
-        description = "Updates task details. Admin can update all fields, assignee can only update status."
+        description = "Updates task details. Admin can update all fields, assignee can only update status. " +
+                "Send the task ETag in If-Match to reject the update if the task has changed since it was read."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task updated successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have permission to edit this task"),
-        @ApiResponse(responseCode = "404", description = "Task not found")
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task has changed since the version in If-Match")
     })
     @PreAuthorize("hasRole('ROLE_ADMIN') or @taskService.isTaskEditableByUser(#taskId, authentication.principal)")
     public ResponseEntity<TaskResponse> updateTask(
@@ -88,8 +200,11 @@ public class TaskController {
             @Parameter(description = "Updated task details", required = true)
             @Valid @RequestBody TaskRequest request,
             @Parameter(hidden = true)
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(taskService.updateTask(taskId, request, currentUser));
+            @AuthenticationPrincipal User currentUser,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        TaskResponse task = taskService.updateTask(taskId, request, expectedVersion(taskId, currentUser, webRequest), currentUser);
+        return ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(task);
     }
 
     @DeleteMapping("/{taskId}")
@@ -116,22 +231,126 @@ public class TaskController {
     @GetMapping
     @Operation(
         summary = "Get all tasks",
-        description = "Retrieves a paginated list of tasks. Admins see all tasks, users see only their tasks (as author or assignee)."
+        description = "Retrieves a page of tasks with pagination metadata, optionally filtered by status, priority, assignee, author and due date range. Admins see all tasks, users see only their tasks (as author or assignee). " +
+                "The response carries a weak ETag of the page; with a matching If-None-Match the answer is 304."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Page has not changed since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort field, direction or filter"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
+    public ResponseEntity<PageResponse<TaskResponse>> getAllTasks(
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field (id, title, status, priority, createdAt, updatedAt, dueDate)", example = "createdAt")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (ASC, DESC)", example = "DESC")
+            @RequestParam(defaultValue = "DESC") String direction,
+            @ParameterObject TaskFilter filter,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User currentUser,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        PageResponse<TaskResponse> tasks = taskService.getAllTasks(page, size, sortBy, direction, filter, currentUser);
+        String etag = TaskETags.of(tasks);
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(tasks);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search tasks",
+        description = "Full-text search over task title, description and comments, ordered by relevance. Admins search all tasks, users only their tasks (as author or assignee)."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+        @ApiResponse(responseCode = "400", description = "Blank search query"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role")
     })
     @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
-    public ResponseEntity<List<TaskResponse>> getAllTasks(
+    public ResponseEntity<PageResponse<TaskResponse>> searchTasks(
+            @Parameter(description = "Search query", required = true, example = "API")
+            @RequestParam String q,
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page", example = "10")
+            @Parameter(description = "Number of items per page (max 100)", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User currentUser) {
+        return ResponseEntity.ok(taskService.searchTasks(q, page, size, currentUser));
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export all tasks",
+        description = "Streams all tasks as NDJSON (one JSON object per line) or CSV. Rows are written as they are read from the database. Only administrators can export tasks."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export stream started"),
+        @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - only admins can export tasks")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "Export format (NDJSON, CSV)", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON") TaskExportFormat format) {
+        StreamingResponseBody body = out -> taskExportService.exportTasks(format, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream task changes",
+        description = "Opens a Server-Sent Events stream of changes to tasks the user can see (as author or assignee; admins see all tasks). " +
+                "Each 'task' event carries the change type and task ID, only the latest pending change per task is delivered. " +
+                "A 'resync' event means events were dropped for a slow connection and the task list should be reloaded."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role"),
+        @ApiResponse(responseCode = "429", description = "Too many open streams for this user")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
+    public SseEmitter streamTaskEvents(
+            @Parameter(hidden = true)
+            @AuthenticationPrincipal User currentUser) {
+        return taskEventStream.subscribe(currentUser);
+    }
+
+    @GetMapping("/scroll")
+    @Operation(
+        summary = "Scroll tasks by cursor",
+        description = "Retrieves tasks ordered by creation time (newest first) using keyset pagination. " +
+                "Pass nextCursor from the previous response to get the following page. Visibility rules are the same as for GET /api/tasks."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have required role")
+    })
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('ROLE_USER')")
+    public ResponseEntity<CursorPageResponse<TaskResponse>> scrollTasks(
+            @Parameter(description = "Opaque cursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (max 100)", example = "10")
             @RequestParam(defaultValue = "10") int size,
             @Parameter(hidden = true)
             @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(taskService.getAllTasks(page, size, currentUser));
+        return ResponseEntity.ok(taskService.getTasksByCursor(cursor, size, currentUser));
     }
 
     @PatchMapping("/{taskId}/status")
@@ -144,7 +363,9 @@ public class TaskController {
         @ApiResponse(responseCode = "400", description = "Invalid status value"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - user doesn't have permission to update this task"),
-        @ApiResponse(responseCode = "404", description = "Task not found")
+        @ApiResponse(responseCode = "404", description = "Task not found"),
+        @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task has changed since the version in If-Match")
     })
     @PreAuthorize("hasRole('ROLE_ADMIN') or @taskService.isTaskAccessible(#taskId, authentication.principal)")
     public ResponseEntity<TaskResponse> updateTaskStatus(
@@ -153,8 +374,11 @@ public class TaskController {
             @Parameter(description = "New status value (PENDING, IN_PROGRESS, COMPLETED, CANCELLED)", required = true)
             @RequestParam String status,
             @Parameter(hidden = true)
-            @AuthenticationPrincipal User currentUser) {
-        return ResponseEntity.ok(taskService.updateTaskStatus(taskId, status, currentUser));
+            @AuthenticationPrincipal User currentUser,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        TaskResponse task = taskService.updateTaskStatus(taskId, status, expectedVersion(taskId, currentUser, webRequest), currentUser);
+        return ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(task);
     }
 
     @PatchMapping("/{taskId}/assign")
@@ -167,7 +391,9 @@ public class TaskController {
         @ApiResponse(responseCode = "400", description = "Invalid assignee ID"),
         @ApiResponse(responseCode = "401", description = "Unauthorized"),
         @ApiResponse(responseCode = "403", description = "Forbidden - only admins can assign tasks"),
-        @ApiResponse(responseCode = "404", description = "Task or assignee not found")
+        @ApiResponse(responseCode = "404", description = "Task or assignee not found"),
+        @ApiResponse(responseCode = "409", description = "Task was modified concurrently"),
+        @ApiResponse(responseCode = "412", description = "Task has changed since the version in If-Match")
     })
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<TaskResponse> assignTask(
@@ -176,7 +402,27 @@ public class TaskController {
             @Parameter(hidden = true)
             @AuthenticationPrincipal User currentUser,
             @Parameter(description = "ID of the user to assign to the task", required = true)
-            @Valid @RequestBody AssignTaskRequest request) {
-        return ResponseEntity.ok(taskService.assignTask(taskId, request.assigneeId(), currentUser));
+            @Valid @RequestBody AssignTaskRequest request,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        TaskResponse task = taskService.assignTask(taskId, request.assigneeId(),
+                expectedVersion(taskId, currentUser, webRequest), currentUser);
+        return ResponseEntity.ok().eTag(TaskETags.of(task.getVersion())).body(task);
+    }
+
+    /**
+     * Версия задачи, которую видел клиент, если запрос содержит If-Match; null - изменение без условия.
+     * Несовпадение отклоняется до загрузки задачи, а изменение задачи после этой проверки -
+     * при записи по колонке version, без пессимистичных блокировок.
+     */
+    private Long expectedVersion(Long taskId, User currentUser, WebRequest webRequest) {
+        if (webRequest.getHeader(HttpHeaders.IF_MATCH) == null) {
+            return null;
+        }
+        long version = taskService.getTaskVersion(taskId, currentUser);
+        if (webRequest.checkNotModified(TaskETags.of(version))) {
+            throw new PreconditionFailedException("Task has been modified since it was read");
+        }
+        return version;
     }
 }
@@ -0,0 +1,35 @@
+package com.dev.taskmanagement.controller;
+
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETag задач для условных запросов.
+ * Задача: сильный ETag по версии строки ({@code @Version}), меняется при каждом изменении задачи,
+ * включая добавление и удаление комментариев.
+ * Страница списка: слабый ETag - хеш номера страницы, общего количества и пар (ID, версия) задач страницы.
+ * Считается по уже полученной (обычно закэшированной) странице без сериализации ответа.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String of(PageResponse<TaskResponse> page) {
+        StringBuilder validator = new StringBuilder()
+                .append(page.getPage()).append(':')
+                .append(page.getSize()).append(':')
+                .append(page.getTotalElements());
+        for (TaskResponse task : page.getContent()) {
+            validator.append(',').append(task.getId()).append('.').append(task.getVersion());
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(validator.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -0,0 +1,48 @@
+package com.dev.taskmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница результатов вместе с метаданными пагинации.
+ *
+ * @param <T> тип элементов страницы
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private boolean last;
+
+    public static <E, T> PageResponse<T> from(Page<E> page, Function<E, T> mapper) {
+        return PageResponse.<T>builder()
+                .content(page.getContent().stream().map(mapper).toList())
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .build();
+    }
+
+    public static <T> PageResponse<T> empty(int page, int size) {
+        return PageResponse.<T>builder()
+                .content(List.of())
+                .page(page)
+                .size(size)
+                .last(true)
+                .build();
+    }
+}
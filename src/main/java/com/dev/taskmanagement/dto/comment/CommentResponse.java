@@ -14,9 +14,7 @@ public class CommentResponse {
     private Long taskId;
     private Long authorId;
     private String authorName;
+    private String authorEmail;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-
-    public CommentResponse(Long id, String content, String email, LocalDateTime createdAt) {
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.dev.taskmanagement.dto.task;
+
+import lombok.*;
+
+/**
+ * Результат обработки одного элемента пакетного запроса.
+ * {@code index} - позиция элемента в запросе.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResult {
+    private int index;
+    private Long taskId;
+    private boolean success;
+    private String error;
+    private TaskResponse task;
+
+    public static BulkItemResult success(int index, TaskResponse task) {
+        return BulkItemResult.builder()
+                .index(index)
+                .taskId(task.getId())
+                .success(true)
+                .task(task)
+                .build();
+    }
+
+    public static BulkItemResult failure(int index, Long taskId, String error) {
+        return BulkItemResult.builder()
+                .index(index)
+                .taskId(taskId)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.dev.taskmanagement.dto.task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusRequest {
+
+    @NotEmpty(message = "Status changes are required")
+    @Size(max = 1000, message = "No more than 1000 status changes per request")
+    private List<@Valid TaskStatusChange> changes;
+}
@@ -0,0 +1,21 @@
+package com.dev.taskmanagement.dto.task;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTaskResponse {
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+
+    public static BulkTaskResponse of(List<BulkItemResult> results) {
+        int succeeded = (int) results.stream().filter(BulkItemResult::isSuccess).count();
+        return new BulkTaskResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dev.taskmanagement.dto.task;
+
+/**
+ * Минимальный набор данных задачи для проверки прав доступа и условных запросов:
+ * автор, исполнитель и текущая версия.
+ */
+public record TaskAccess(Long authorId, Long assigneeId, long version) {
+}
@@ -0,0 +1,11 @@
+package com.dev.taskmanagement.dto.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Событие об изменении задачи для подписчиков потока GET /api/tasks/stream.
+ * Содержит только ID задачи: актуальные данные клиент получает через GET /api/tasks/{id}
+ * (с If-None-Match), поэтому событие не раскрывает содержимое задачи и не устаревает.
+ */
+public record TaskEvent(TaskEventType type, Long taskId, LocalDateTime occurredAt) {
+}
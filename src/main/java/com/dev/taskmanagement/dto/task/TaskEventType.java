@@ -0,0 +1,13 @@
+package com.dev.taskmanagement.dto.task;
+
+/**
+ * Вид изменения задачи в потоке событий GET /api/tasks/stream.
+ */
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    ASSIGNED,
+    COMMENTED,
+    DELETED
+}
@@ -0,0 +1,43 @@
+package com.dev.taskmanagement.dto.task;
+
+import com.dev.taskmanagement.model.TaskPriority;
+import com.dev.taskmanagement.model.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Фильтры списка задач. Незаданные поля не ограничивают выборку.
+ * Диапазон срока выполнения включает обе границы.
+ */
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskFilter {
+    private TaskStatus status;
+    private TaskPriority priority;
+    private Long assigneeId;
+    private Long authorId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    public static TaskFilter none() {
+        return new TaskFilter();
+    }
+
+    public boolean isEmpty() {
+        return status == null && priority == null && assigneeId == null && authorId == null
+                && dueFrom == null && dueTo == null;
+    }
+}
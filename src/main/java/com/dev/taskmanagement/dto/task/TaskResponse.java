@@ -25,4 +25,7 @@ public class TaskResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime dueDate;
+    private int commentCount;
+    private LocalDateTime lastActivityAt;
+    private long version;
 } 
\ No newline at end of file
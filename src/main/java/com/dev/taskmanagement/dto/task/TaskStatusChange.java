@@ -0,0 +1,21 @@
+package com.dev.taskmanagement.dto.task;
+
+import com.dev.taskmanagement.model.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskStatusChange {
+
+    @NotNull(message = "Task ID is required")
+    private Long taskId;
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
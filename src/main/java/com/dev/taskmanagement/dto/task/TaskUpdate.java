@@ -0,0 +1,22 @@
+package com.dev.taskmanagement.dto.task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskUpdate {
+
+    @NotNull(message = "Task ID is required")
+    private Long taskId;
+
+    @Valid
+    @NotNull(message = "Task details are required")
+    private TaskRequest task;
+}
@@ -18,7 +18,8 @@ import java.util.List;
 public class Task {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -56,4 +57,17 @@ public class Task {
     
     @Column(nullable = false)
     private LocalDateTime dueDate;
+
+    // Изменяется только запросом TaskRepository.updateCommentActivity, чтобы сохранение
+    // загруженной ранее задачи не перезаписало счетчик устаревшим значением
+    @Column(nullable = false, updatable = false)
+    private int commentCount;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 } 
\ No newline at end of file
@@ -1,13 +1,62 @@
 package com.dev.taskmanagement.repository;
 
 
+import com.dev.taskmanagement.dto.comment.CommentResponse;
 import com.dev.taskmanagement.model.Comment;
-import com.dev.taskmanagement.model.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Комментарии задачи читаются сразу в CommentResponse одним запросом с JOIN автора,
+ * без загрузки коллекции Task.comments и сущностей пользователей.
+ * Порядок (createdAt, id) обслуживается индексом (task_id, created_at, id).
+ */
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-}
\ No newline at end of file
+
+    @Query(value = """
+            SELECT new com.dev.taskmanagement.dto.comment.CommentResponse(
+                c.id, c.content, c.task.id, a.id, CONCAT(a.firstName, ' ', a.lastName), a.email,
+                c.createdAt, c.updatedAt)
+            FROM Comment c JOIN c.author a
+            WHERE c.task.id = :taskId
+            ORDER BY c.createdAt, c.id
+            """,
+            countQuery = """
+            SELECT COUNT(c) FROM Comment c
+            WHERE c.task.id = :taskId
+            """)
+    Page<CommentResponse> findPageByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.dev.taskmanagement.dto.comment.CommentResponse(
+                c.id, c.content, c.task.id, a.id, CONCAT(a.firstName, ' ', a.lastName), a.email,
+                c.createdAt, c.updatedAt)
+            FROM Comment c JOIN c.author a
+            WHERE c.task.id = :taskId
+            ORDER BY c.createdAt, c.id
+            """)
+    List<CommentResponse> findFirstByTaskId(@Param("taskId") Long taskId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.dev.taskmanagement.dto.comment.CommentResponse(
+                c.id, c.content, c.task.id, a.id, CONCAT(a.firstName, ' ', a.lastName), a.email,
+                c.createdAt, c.updatedAt)
+            FROM Comment c JOIN c.author a
+            WHERE c.task.id = :taskId
+            AND c.createdAt >= :createdAt
+            AND (c.createdAt > :createdAt OR c.id > :id)
+            ORDER BY c.createdAt, c.id
+            """)
+    List<CommentResponse> findByTaskIdCreatedAfter(@Param("taskId") Long taskId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+}
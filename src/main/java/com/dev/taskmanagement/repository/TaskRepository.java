@@ -1,21 +1,95 @@
 package com.dev.taskmanagement.repository;
 
+import com.dev.taskmanagement.dto.task.TaskAccess;
 import com.dev.taskmanagement.model.Task;
-import com.dev.taskmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskSearchRepository, VisibleTaskRepository {
+    @Override
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    Page<Task> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    Page<Task> findAll(Specification<Task> specification, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    Optional<Task> findWithUsersById(Long id);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    List<Task> findAllWithUsersByIdIn(Collection<Long> ids);
+
+    /**
+     * Потоковое чтение всех задач для экспорта. Строки читаются курсором порциями по fetchSize,
+     * сущности не отслеживаются на изменения. Поток должен закрываться внутри транзакции.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.author LEFT JOIN FETCH t.assignee ORDER BY t.id")
+    Stream<Task> streamAllForExport();
+
+    @Query("""
+            SELECT new com.dev.taskmanagement.dto.task.TaskAccess(t.author.id, t.assignee.id, t.version)
+            FROM Task t
+            WHERE t.id = :taskId
+            """)
+    Optional<TaskAccess> findAccessById(@Param("taskId") Long taskId);
+
+    /**
+     * Атомарно изменяет счетчик комментариев задачи и время её последней активности
+     * одним UPDATE без загрузки задачи и коллекции комментариев.
+     * Версия задачи увеличивается, так как меняется её представление (и ETag).
+     *
+     * @return Количество обновленных строк (0, если задача не найдена)
+     */
+    @Modifying
+    @Query("""
+            UPDATE Task t
+            SET t.commentCount = t.commentCount + :delta, t.lastActivityAt = :activityAt, t.version = t.version + 1
+            WHERE t.id = :taskId
+            """)
+    int updateCommentActivity(@Param("taskId") Long taskId,
+                              @Param("delta") int delta,
+                              @Param("activityAt") LocalDateTime activityAt);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
+    @Query("""
+            SELECT t FROM Task t
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<Task> findFirstByCreatedAtDesc(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "assignee"})
     @Query("""
-            SELECT DISTINCT t FROM Task t 
-            WHERE t.author = :user 
-            OR t.assignee = :user
-            ORDER BY t.createdAt DESC
+            SELECT t FROM Task t
+            WHERE t.createdAt <= :createdAt
+            AND (t.createdAt < :createdAt OR t.id < :id)
+            ORDER BY t.createdAt DESC, t.id DESC
             """)
-    List<Task> findByAuthorOrAssignee(@Param("user") User user);
-}
\ No newline at end of file
+    List<Task> findCreatedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.dev.taskmanagement.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Полнотекстовый поиск задач по заголовку, описанию и комментариям.
+ */
+public interface TaskSearchRepository {
+
+    /**
+     * Ищет задачи, в заголовке, описании или комментариях которых встречаются слова запроса.
+     * Результат упорядочен по релевантности, затем по убыванию ID.
+     *
+     * @param query Поисковый запрос
+     * @param visibleToUserId ID пользователя, если искать только среди задач, где он автор или исполнитель;
+     *                        null - среди всех задач
+     * @param pageable Номер и размер страницы (сортировка не учитывается)
+     * @return Страница ID найденных задач
+     */
+    Page<Long> searchTaskIds(String query, Long visibleToUserId, Pageable pageable);
+}
@@ -0,0 +1,110 @@
+package com.dev.taskmanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * На PostgreSQL поиск выполняется по колонкам {@code search_vector} с GIN-индексами
+ * (см. миграцию db/migration/postgresql/V5__task_search.sql) и ранжируется через {@code ts_rank}: совпадения в заголовке
+ * весят больше, чем в описании, совпадения в нескольких комментариях суммируются.
+ * На остальных БД (H2 в тестах) используется поиск подстроки без учета регистра:
+ * сначала задачи с совпадением в заголовке.
+ */
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+    private static final String POSTGRES_MATCHES = """
+            WITH q AS (SELECT plainto_tsquery('russian', :query) AS query),
+            matches AS (
+                SELECT t.id, ts_rank(t.search_vector, q.query) AS rank
+                FROM tasks t, q
+                WHERE t.search_vector @@ q.query
+                UNION ALL
+                SELECT c.task_id, ts_rank(c.search_vector, q.query) * 0.5
+                FROM comments c, q
+                WHERE c.search_vector @@ q.query
+            )
+            """;
+
+    private static final String FALLBACK_MATCH = """
+            (LOWER(t.title) LIKE :pattern ESCAPE '\\' OR LOWER(t.description) LIKE :pattern ESCAPE '\\'
+                OR EXISTS (SELECT c.id FROM Comment c WHERE c.task = t AND LOWER(c.content) LIKE :pattern ESCAPE '\\'))
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Boolean postgres;
+
+    @Override
+    public Page<Long> searchTaskIds(String query, Long visibleToUserId, Pageable pageable) {
+        return isPostgres()
+                ? searchWithTsVector(query, visibleToUserId, pageable)
+                : searchWithLike(query, visibleToUserId, pageable);
+    }
+
+    private Page<Long> searchWithTsVector(String query, Long visibleToUserId, Pageable pageable) {
+        String visibility = visibleToUserId == null
+                ? ""
+                : "WHERE t.author_id = :userId OR t.assignee_id = :userId ";
+        Query select = entityManager.createNativeQuery(POSTGRES_MATCHES + """
+                SELECT m.id FROM matches m JOIN tasks t ON t.id = m.id
+                """ + visibility + """
+                GROUP BY m.id
+                ORDER BY SUM(m.rank) DESC, m.id DESC
+                """);
+        Query count = entityManager.createNativeQuery(POSTGRES_MATCHES + """
+                SELECT COUNT(DISTINCT m.id) FROM matches m JOIN tasks t ON t.id = m.id
+                """ + visibility);
+        return page(select, count, pageable, q -> q.setParameter("query", query), visibleToUserId);
+    }
+
+    private Page<Long> searchWithLike(String query, Long visibleToUserId, Pageable pageable) {
+        String visibility = visibleToUserId == null
+                ? ""
+                : "AND (t.author.id = :userId OR t.assignee.id = :userId) ";
+        Query select = entityManager.createQuery("SELECT t.id FROM Task t WHERE " + FALLBACK_MATCH + visibility + """
+                ORDER BY CASE WHEN LOWER(t.title) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, t.id DESC
+                """);
+        Query count = entityManager.createQuery("SELECT COUNT(t) FROM Task t WHERE " + FALLBACK_MATCH + visibility);
+        String pattern = "%" + query.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return page(select, count, pageable, q -> q.setParameter("pattern", pattern), visibleToUserId);
+    }
+
+    private Page<Long> page(Query select, Query count, Pageable pageable,
+                            Consumer<Query> binder, Long visibleToUserId) {
+        for (Query q : List.of(select, count)) {
+            binder.accept(q);
+            if (visibleToUserId != null) {
+                q.setParameter("userId", visibleToUserId);
+            }
+        }
+        List<Long> ids = ((List<?>) select
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList())
+                .stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+        return new PageImpl<>(ids, pageable, ((Number) count.getSingleResult()).longValue());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = entityManager.getEntityManagerFactory()
+                    .unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices()
+                    .getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgres;
+    }
+}
@@ -0,0 +1,65 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.dto.task.TaskFilter;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.TaskPriority;
+import com.dev.taskmanagement.model.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Условия выборки задач для {@link TaskRepository#findAll(Specification, org.springframework.data.domain.Pageable)}.
+ * Условия по автору и исполнителю сравнивают внешние ключи и не добавляют JOIN к users.
+ * Каждое условие с null-аргументом не ограничивает выборку.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Задачи, где пользователь - автор или исполнитель. null - все задачи (администратор).
+     */
+    public static Specification<Task> visibleTo(Long userId) {
+        return (root, query, cb) -> userId == null ? null : cb.or(
+                cb.equal(root.get("author").get("id"), userId),
+                cb.equal(root.get("assignee").get("id"), userId));
+    }
+
+    public static Specification<Task> hasStatus(TaskStatus status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(TaskPriority priority) {
+        return (root, query, cb) -> priority == null ? null : cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> assignedTo(Long assigneeId) {
+        return (root, query, cb) -> assigneeId == null ? null : cb.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
+    public static Specification<Task> authoredBy(Long authorId) {
+        return (root, query, cb) -> authorId == null ? null : cb.equal(root.get("author").get("id"), authorId);
+    }
+
+    public static Specification<Task> dueFrom(LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<Task> dueTo(LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    /**
+     * Все условия фильтра, объединенные через AND.
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification.where(hasStatus(filter.getStatus()))
+                .and(hasPriority(filter.getPriority()))
+                .and(assignedTo(filter.getAssigneeId()))
+                .and(authoredBy(filter.getAuthorId()))
+                .and(dueFrom(filter.getDueFrom()))
+                .and(dueTo(filter.getDueTo()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.model.User;
+
+import java.util.Optional;
+
+/**
+ * Поиск пользователя по email через natural-id Hibernate.
+ * Email - натуральный ключ {@link User}: повторные поиски обслуживаются кэшем второго уровня без запросов к БД.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Ищет пользователя по email.
+     *
+     * @param email Email пользователя
+     * @return Пользователь или пустой Optional, если не найден
+     */
+    Optional<User> findByEmail(String email);
+}
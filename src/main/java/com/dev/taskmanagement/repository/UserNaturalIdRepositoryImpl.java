@@ -0,0 +1,30 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Загрузка по natural-id сначала ищет ID в регионе natural-id ({@code user-by-email}), затем
+ * пользователя - в регионе сущностей ({@code user}); запрос к БД выполняется только при промахе.
+ * Производный запрос Spring Data ({@code WHERE email = ?}) кэш второго уровня не использует.
+ * Как и методы SimpleJpaRepository, выполняется в транзакции только для чтения: сессия Hibernate
+ * вне транзакции закрывается сразу после {@code unwrap}.
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
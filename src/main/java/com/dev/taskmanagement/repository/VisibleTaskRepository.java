@@ -0,0 +1,37 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.dto.task.TaskCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Выборка задач, видимых пользователю: он автор или исполнитель.
+ */
+public interface VisibleTaskRepository {
+
+    /**
+     * Возвращает страницу ID задач, где пользователь автор или исполнитель.
+     *
+     * @param userId ID пользователя
+     * @param pageable Номер, размер страницы и сортировка по полям задачи
+     * @return Страница ID задач в порядке сортировки
+     * @throws IllegalArgumentException если сортировка задана по неподдерживаемому полю
+     */
+    Page<Long> findVisibleTaskIds(Long userId, Pageable pageable);
+
+    /**
+     * Возвращает позиции (createdAt, id) задач, где пользователь автор или исполнитель, по убыванию,
+     * начиная строго после позиции курсора. Позиции, а не только ID, нужны для курсора следующей страницы,
+     * даже если сами задачи будут удалены до их загрузки.
+     *
+     * @param userId ID пользователя
+     * @param createdAt Дата создания последней задачи предыдущей страницы или null для первой страницы
+     * @param id ID последней задачи предыдущей страницы или null для первой страницы
+     * @param limit Максимальное количество позиций
+     * @return Позиции задач в порядке убывания (createdAt, id)
+     */
+    List<TaskCursor> findVisibleTaskPositionsCreatedBefore(Long userId, LocalDateTime createdAt, Long id, int limit);
+}
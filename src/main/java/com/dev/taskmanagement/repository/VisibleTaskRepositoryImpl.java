@@ -0,0 +1,140 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.dto.task.TaskCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Условие "автор ИЛИ исполнитель" разбито на две ветви UNION ALL: задачи, где пользователь автор,
+ * и задачи, где он исполнитель, но не автор. Ветви не пересекаются, поэтому DISTINCT не нужен,
+ * а каждая ветвь читает только строки пользователя по своему индексу. При сортировке по умолчанию
+ * PostgreSQL читает индексы (author_id, created_at, id) / (assignee_id, created_at, id) уже в нужном порядке
+ * и останавливается после offset + size строк.
+ * Общий порядок получается слиянием двух коротких упорядоченных списков.
+ */
+public class VisibleTaskRepositoryImpl implements VisibleTaskRepository {
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "status", "status",
+            "priority", "priority",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "dueDate", "due_date");
+
+    private static final String AUTHOR_BRANCH = "t.author_id = :userId";
+    private static final String ASSIGNEE_BRANCH = "t.assignee_id = :userId AND t.author_id <> :userId";
+    private static final String CREATED_BEFORE = " AND t.created_at <= :createdAt AND (t.created_at < :createdAt OR t.id < :id)";
+
+    private static final String COUNT = """
+            SELECT (SELECT COUNT(*) FROM tasks t WHERE t.author_id = :userId)
+                 + (SELECT COUNT(*) FROM tasks t WHERE t.assignee_id = :userId AND t.author_id <> :userId)
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findVisibleTaskIds(Long userId, Pageable pageable) {
+        String orderBy = orderBy(pageable.getSort());
+        Query select = entityManager.createNativeQuery(
+                        visibleTaskIdsSql("", orderBy, pageable.getOffset() + pageable.getPageSize()))
+                .setParameter("userId", userId)
+                .setParameter("limit", pageable.getPageSize())
+                .setParameter("offset", pageable.getOffset());
+        return PageableExecutionUtils.getPage(ids(select), pageable, () -> ((Number) entityManager
+                .createNativeQuery(COUNT)
+                .setParameter("userId", userId)
+                .getSingleResult()).longValue());
+    }
+
+    @Override
+    public List<TaskCursor> findVisibleTaskPositionsCreatedBefore(Long userId, LocalDateTime createdAt, Long id, int limit) {
+        Query select = entityManager.createNativeQuery(visibleTasksSql("v.id, v.created_at",
+                        createdAt == null ? "" : CREATED_BEFORE, "created_at DESC, id DESC", limit))
+                .setParameter("userId", userId)
+                .setParameter("limit", limit)
+                .setParameter("offset", 0);
+        if (createdAt != null) {
+            select.setParameter("createdAt", createdAt).setParameter("id", id);
+        }
+        return ((List<?>) select.getResultList()).stream()
+                .map(row -> (Object[]) row)
+                .map(row -> new TaskCursor(localDateTime(row[1]), ((Number) row[0]).longValue()))
+                .toList();
+    }
+
+    /**
+     * SQL выборки ID видимых задач; {@code orderBy} - список "колонка направление" без псевдонима таблицы.
+     * Параметры: userId, limit, offset и параметры {@code condition}.
+     * Лимит ветвей (offset + size) подставляется литералом: H2 неверно применяет
+     * параметр FETCH FIRST во второй ветви UNION ALL.
+     */
+    static String visibleTaskIdsSql(String condition, String orderBy, long branchLimit) {
+        return visibleTasksSql("v.id", condition, orderBy, branchLimit);
+    }
+
+    private static String visibleTasksSql(String columns, String condition, String orderBy, long branchLimit) {
+        String branchOrderBy = orderBy.replaceAll("(\\w+) (ASC|DESC)", "t.$1 $2");
+        return """
+                SELECT %8$s FROM (
+                    (SELECT %1$s FROM tasks t WHERE %2$s%4$s ORDER BY %5$s LIMIT %7$d)
+                    UNION ALL
+                    (SELECT %1$s FROM tasks t WHERE %3$s%4$s ORDER BY %5$s LIMIT %7$d)
+                ) v
+                ORDER BY %6$s
+                LIMIT :limit OFFSET :offset
+                """.formatted(selectColumns(orderBy), AUTHOR_BRANCH, ASSIGNEE_BRANCH, condition,
+                branchOrderBy, orderBy, branchLimit, columns);
+    }
+
+    /**
+     * Переводит сортировку по полям задачи в ORDER BY по колонкам, ID добавляется последним для однозначного порядка.
+     */
+    static String orderBy(Sort sort) {
+        String orderBy = sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+                    }
+                    return column + " " + order.getDirection().name();
+                })
+                .collect(Collectors.joining(", "));
+        if (sort.getOrderFor("id") == null) {
+            orderBy = orderBy.isEmpty() ? "id DESC" : orderBy + ", id DESC";
+        }
+        return orderBy;
+    }
+
+    private static String selectColumns(String orderBy) {
+        return Stream.concat(Stream.of("id"),
+                        Arrays.stream(orderBy.split(", ")).map(order -> order.substring(0, order.indexOf(' '))))
+                .distinct()
+                .map(column -> "t." + column)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static LocalDateTime localDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static List<Long> ids(Query select) {
+        return ((List<?>) select.getResultList()).stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+    }
+}
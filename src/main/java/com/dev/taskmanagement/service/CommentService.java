@@ -1,63 +1,125 @@
 package com.dev.taskmanagement.service;
 
+import com.dev.taskmanagement.dto.CursorPageResponse;
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.comment.CommentCursor;
 import com.dev.taskmanagement.dto.comment.CommentRequest;
 import com.dev.taskmanagement.dto.comment.CommentResponse;
+import com.dev.taskmanagement.dto.task.TaskAccess;
+import com.dev.taskmanagement.dto.task.TaskEventType;
 import com.dev.taskmanagement.exception.ResourceNotFoundException;
 import com.dev.taskmanagement.model.Comment;
-import com.dev.taskmanagement.model.Task;
 import com.dev.taskmanagement.model.User;
 import com.dev.taskmanagement.repository.CommentRepository;
 import com.dev.taskmanagement.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
 
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
+    private final TaskAccessResolver taskAccessResolver;
+    private final TaskCacheInvalidator taskCacheInvalidator;
+    private final TaskEventStream taskEventStream;
 
     @Transactional
     public CommentResponse addComment(Long taskId, CommentRequest request, User currentUser) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-
-        if (!task.getAuthor().equals(currentUser) && (task.getAssignee() == null || !task.getAssignee().equals(currentUser))) {
+        TaskAccess access = taskAccessResolver.resolve(taskId);
+        if (!isAuthorOrAssignee(access, currentUser)) {
             throw new SecurityException("You do not have permission to comment on this task");
         }
 
         Comment comment = new Comment();
         comment.setContent(request.getContent());
-        comment.setTask(task);
+        comment.setTask(taskRepository.getReferenceById(taskId));
         comment.setAuthor(currentUser);
 
-        return convertToResponse(commentRepository.save(comment));
+        CommentResponse response = convertToResponse(commentRepository.save(comment));
+        recordCommentActivity(taskId, access, 1);
+        return response;
     }
 
+    /**
+     * Получает страницу комментариев задачи в порядке создания.
+     * Комментарии читаются одним запросом вместе с именем и email автора,
+     * размер страницы ограничен {@value #MAX_PAGE_SIZE}.
+     *
+     * @param taskId ID задачи
+     * @param page Номер страницы (начиная с 0)
+     * @param size Размер страницы
+     * @return PageResponse с комментариями и метаданными пагинации
+     * @throws ResourceNotFoundException если задача не найдена
+     */
     @Transactional(readOnly = true)
-    public List<CommentResponse> getComments(Long taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
-        return task.getComments().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<CommentResponse> getComments(Long taskId, int page, int size) {
+        taskAccessResolver.resolve(taskId);
+        if (page < 0 || size <= 0) {
+            return PageResponse.empty(page, size);
+        }
+        return PageResponse.from(
+                commentRepository.findPageByTaskId(taskId, PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE))),
+                Function.identity());
+    }
+
+    /**
+     * Получает комментарии задачи с keyset-пагинацией в порядке (createdAt, id).
+     * Стоимость запроса не зависит от глубины пролистывания, новые комментарии
+     * появляются в конце ленты без пропусков и дублей.
+     *
+     * @param taskId ID задачи
+     * @param cursor Курсор из предыдущей страницы или null для первой страницы
+     * @param size Размер страницы
+     * @return CursorPageResponse с комментариями и курсором следующей страницы
+     * @throws ResourceNotFoundException если задача не найдена
+     * @throws IllegalArgumentException если курсор невалидный
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getCommentsByCursor(Long taskId, String cursor, int size) {
+        taskAccessResolver.resolve(taskId);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CommentCursor position = cursor == null || cursor.isBlank() ? null : CommentCursor.decode(cursor);
+
+        // Запрашиваем на одну запись больше, чтобы узнать о наличии следующей страницы без COUNT
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+        List<CommentResponse> comments = position == null
+                ? commentRepository.findFirstByTaskId(taskId, limit)
+                : commentRepository.findByTaskIdCreatedAfter(taskId, position.createdAt(), position.id(), limit);
+        boolean hasNext = comments.size() > pageSize;
+        List<CommentResponse> pageComments = hasNext ? comments.subList(0, pageSize) : comments;
+
+        CommentResponse last = pageComments.isEmpty() ? null : pageComments.get(pageComments.size() - 1);
+        return CursorPageResponse.<CommentResponse>builder()
+                .content(pageComments)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new CommentCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
     }
 
     @Transactional
     public void deleteComment(Long commentId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        Long taskId = comment.getTask().getId();
         commentRepository.delete(comment);
+        recordCommentActivity(taskId, taskAccessResolver.resolve(taskId), -1);
     }
 
     public boolean isCommentAllowed(Long taskId, User currentUser) {
-        Task task = taskRepository.findById(taskId).orElse(null);
-        return task != null && (task.getAuthor().equals(currentUser) || task.getAssignee().equals(currentUser));
+        return taskAccessResolver.find(taskId)
+                .map(access -> isAuthorOrAssignee(access, currentUser))
+                .orElse(false);
     }
 
     public boolean isCommentAuthor(Long commentId, User currentUser) {
@@ -65,12 +127,33 @@ public class CommentService {
         return comment != null && comment.getAuthor().equals(currentUser);
     }
 
+    /**
+     * Обновляет счетчик комментариев и время активности задачи одним UPDATE
+     * и инвалидирует закэшированную задачу и страницы списка её автора и исполнителя.
+     * Автор и исполнитель получают событие {@link TaskEventType#COMMENTED}.
+     */
+    private void recordCommentActivity(Long taskId, TaskAccess access, int delta) {
+        taskRepository.updateCommentActivity(taskId, delta, LocalDateTime.now());
+        taskCacheInvalidator.evict(List.of(taskId), Arrays.asList(access.authorId(), access.assigneeId()));
+        taskAccessResolver.forget(taskId);
+        taskEventStream.publish(TaskEventType.COMMENTED, taskId, Arrays.asList(access.authorId(), access.assigneeId()));
+    }
+
+    private boolean isAuthorOrAssignee(TaskAccess access, User user) {
+        return user.getId().equals(access.authorId()) || user.getId().equals(access.assigneeId());
+    }
+
     private CommentResponse convertToResponse(Comment comment) {
+        User author = comment.getAuthor();
         return new CommentResponse(
                 comment.getId(),
                 comment.getContent(),
-                comment.getAuthor().getEmail(),
-                comment.getCreatedAt()
+                comment.getTask().getId(),
+                author.getId(),
+                author.getFirstName() + " " + author.getLastName(),
+                author.getEmail(),
+                comment.getCreatedAt(),
+                comment.getUpdatedAt()
         );
     }
 }
@@ -0,0 +1,69 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.dto.task.TaskAccess;
+import com.dev.taskmanagement.exception.ResourceNotFoundException;
+import com.dev.taskmanagement.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Загружает данные для проверки прав доступа к задаче (автор и исполнитель)
+ * одним запросом к БД без загрузки самой задачи и пользователей.
+ * В рамках HTTP-запроса результат запоминается в атрибутах запроса, поэтому проверка
+ * в {@code @PreAuthorize} и повторная проверка в сервисе используют одни и те же данные.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskAccessResolver {
+    private static final String ATTRIBUTE_PREFIX = TaskAccessResolver.class.getName() + ".";
+
+    private final TaskRepository taskRepository;
+
+    /**
+     * Возвращает автора, исполнителя и версию задачи.
+     *
+     * @param taskId ID задачи
+     * @return TaskAccess задачи
+     * @throws ResourceNotFoundException если задача не найдена
+     */
+    public TaskAccess resolve(Long taskId) {
+        return find(taskId).orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+    }
+
+    /**
+     * Возвращает автора и исполнителя задачи или пустой Optional, если задача не найдена.
+     *
+     * @param taskId ID задачи
+     * @return TaskAccess задачи
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<TaskAccess> find(Long taskId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return taskRepository.findAccessById(taskId);
+        }
+        String attributeName = ATTRIBUTE_PREFIX + taskId;
+        Optional<TaskAccess> access = (Optional<TaskAccess>) attributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST);
+        if (access == null) {
+            access = taskRepository.findAccessById(taskId);
+            attributes.setAttribute(attributeName, access, RequestAttributes.SCOPE_REQUEST);
+        }
+        return access;
+    }
+
+    /**
+     * Забывает запомненные данные задачи, если в текущем запросе изменились её автор, исполнитель или версия.
+     *
+     * @param taskId ID задачи
+     */
+    public void forget(Long taskId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(ATTRIBUTE_PREFIX + taskId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
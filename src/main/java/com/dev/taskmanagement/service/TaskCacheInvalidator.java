@@ -0,0 +1,161 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.config.ReplicaRoutingProperties;
+import com.dev.taskmanagement.dto.task.TaskFilter;
+import com.dev.taskmanagement.model.User;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Точечная инвалидация закэшированных задач и страниц списка задач.
+ * Страницы не удаляются перебором ключей: ключ страницы содержит поколение страниц пользователя
+ * (для администраторов - общее), и инвалидация увеличивает поколения указанных пользователей и администраторов.
+ * Старые страницы больше не читаются и вытесняются кэшем по размеру и TTL.
+ * Отдельные задачи (и их JSON в {@link TaskJsonCache}) удаляются из кэша только при явной передаче их ID.
+ * <p>
+ * Внутри транзакции инвалидация выполняется после коммита, иначе параллельный запрос мог бы прочитать
+ * и закэшировать данные до коммита уже после инвалидации. Сама по себе она не защищает от читателя,
+ * который выполнил запрос до коммита и кладет результат в кэш после неё: страница такого читателя
+ * попадает под ключ прежнего поколения (ключ вычисляется до запроса) и не читается. Для отдельных задач
+ * такое окно остается: устаревшая задача может вернуться в кэш {@value TaskCacheKeys#TASKS_CACHE}
+ * до истечения TTL или следующего изменения задачи; JSON в {@link TaskJsonCache} привязан к версии.
+ * <p>
+ * С репликой измененные задачи и страницы запоминаются на окно чтения своих записей
+ * ({@link ReplicaRoutingProperties}), которое должно перекрывать отставание реплики: промахи кэша по ним
+ * читаются из основной БД, остальные - с реплики.
+ *
+ * @see TaskCacheKeys
+ */
+@Slf4j
+@Component
+public class TaskCacheInvalidator {
+    private final CacheManager cacheManager;
+    // Поколение страниц по префиксу пользователя; одна запись на пользователя, читавшего или менявшего задачи
+    private final Map<String, AtomicLong> pageGenerations = new ConcurrentHashMap<>();
+    // ID задач и префиксы страниц, измененные в пределах окна отставания реплики; null без реплики
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Boolean> recentChanges;
+
+    public TaskCacheInvalidator(CacheManager cacheManager, ObjectProvider<ReplicaRoutingProperties> replicaRouting) {
+        this.cacheManager = cacheManager;
+        ReplicaRoutingProperties routing = replicaRouting.getIfAvailable();
+        this.recentChanges = routing == null ? null : Caffeine.newBuilder()
+                .expireAfterWrite(routing.readYourWritesWindow())
+                .build();
+    }
+
+    /**
+     * Ключ страницы списка задач с текущим поколением страниц пользователя.
+     * Вычисляется до запроса к БД: если изменение закоммитится во время запроса,
+     * результат будет сохранен под ключом прежнего поколения.
+     *
+     * @see TaskCacheKeys#pageKey
+     */
+    public String pageKey(User user, int page, int size, String sortBy, String direction, TaskFilter filter) {
+        String prefix = TaskCacheKeys.pagesPrefix(user);
+        return TaskCacheKeys.pageKey(prefix, generationOf(prefix).get(), page, size, sortBy, direction, filter);
+    }
+
+    /**
+     * Проверяет, менялась ли задача в пределах окна отставания реплики: промах кэша по ней нужно читать
+     * из основной БД, иначе реплика вернула бы в кэш прежнюю версию. Без реплики всегда false.
+     *
+     * @param taskId ID задачи
+     * @return true, если задача изменена недавно
+     */
+    public boolean isRecentlyChanged(Long taskId) {
+        return recentChanges != null && recentChanges.getIfPresent(taskId) != null;
+    }
+
+    /**
+     * Проверяет, инвалидировались ли страницы пользователя в пределах окна отставания реплики.
+     * Без реплики всегда false.
+     *
+     * @param user Пользователь
+     * @return true, если страницы пользователя изменены недавно
+     */
+    public boolean arePagesRecentlyChanged(User user) {
+        return recentChanges != null && recentChanges.getIfPresent(TaskCacheKeys.pagesPrefix(user)) != null;
+    }
+
+    /**
+     * Инвалидирует страницы списка задач пользователей, которых затронуло изменение, и администраторов.
+     * Записи самих задач не удаляются: используется, когда они созданы или уже обновлены ({@code @CachePut}).
+     *
+     * @param taskIds ID созданных или обновленных задач
+     * @param userIds ID затронутых пользователей (автор, исполнители); null-значения игнорируются
+     */
+    public void evictPages(Collection<Long> taskIds, Collection<Long> userIds) {
+        invalidate(Set.of(), Set.copyOf(taskIds), userIds);
+    }
+
+    /**
+     * Инвалидирует закэшированные задачи и страницы списка затронутых пользователей и администраторов
+     * одной операцией. Используется пакетными операциями.
+     *
+     * @param taskIds ID измененных задач
+     * @param userIds ID затронутых пользователей (авторы, исполнители); null-значения игнорируются
+     */
+    public void evict(Collection<Long> taskIds, Collection<Long> userIds) {
+        Set<Long> tasks = Set.copyOf(taskIds);
+        invalidate(tasks, tasks, userIds);
+    }
+
+    private void invalidate(Set<Long> evictedTaskIds, Set<Long> changedTaskIds, Collection<Long> userIds) {
+        Set<String> prefixes = new HashSet<>();
+        prefixes.add(TaskCacheKeys.adminPagesPrefix());
+        userIds.stream()
+                .filter(Objects::nonNull)
+                .map(TaskCacheKeys::userPagesPrefix)
+                .forEach(prefixes::add);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(evictedTaskIds, changedTaskIds, prefixes);
+                }
+            });
+        } else {
+            evictNow(evictedTaskIds, changedTaskIds, prefixes);
+        }
+    }
+
+    private void evictNow(Set<Long> taskIds, Set<Long> changedTaskIds, Set<String> prefixes) {
+        // Отметка до инвалидации: промах, случившийся сразу после неё, уже читает из основной БД
+        if (recentChanges != null) {
+            changedTaskIds.forEach(taskId -> recentChanges.put(taskId, Boolean.TRUE));
+            prefixes.forEach(prefix -> recentChanges.put(prefix, Boolean.TRUE));
+        }
+        if (!taskIds.isEmpty()) {
+            evictTasks(TaskCacheKeys.TASKS_CACHE, taskIds);
+            evictTasks(TaskCacheKeys.TASK_JSON_CACHE, taskIds);
+        }
+        prefixes.forEach(prefix -> generationOf(prefix).incrementAndGet());
+        log.debug("Invalidated task pages with prefixes {}", prefixes);
+    }
+
+    private void evictTasks(String cacheName, Set<Long> taskIds) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            taskIds.forEach(cache::evict);
+        }
+    }
+
+    private AtomicLong generationOf(String prefix) {
+        return pageGenerations.computeIfAbsent(prefix, key -> new AtomicLong());
+    }
+}
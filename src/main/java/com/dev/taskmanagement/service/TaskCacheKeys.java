@@ -0,0 +1,61 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.dto.task.TaskFilter;
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.User;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Имена кэшей задач и ключи страниц списка задач.
+ * Отдельные задачи хранятся в кэше {@value #TASKS_CACHE} по ID задачи,
+ * страницы списка - в кэше {@value #TASK_PAGES_CACHE} по ключу пользователя и параметрам страницы,
+ * сериализованные в JSON задачи (необязательный кэш) - в кэше {@value #TASK_JSON_CACHE} по ID задачи.
+ * Администраторы видят одинаковый список задач, поэтому их страницы хранятся под общим префиксом,
+ * страницы обычных пользователей - под префиксом с ID пользователя.
+ * Префикс вместе с поколением страниц позволяет инвалидировать только страницы затронутых пользователей.
+ */
+public final class TaskCacheKeys {
+    public static final String TASKS_CACHE = "tasks";
+    public static final String TASK_PAGES_CACHE = "taskPages";
+    public static final String TASK_JSON_CACHE = "taskJson";
+
+    private static final String ADMIN_PAGES_PREFIX = "admin_";
+    private static final String USER_PAGES_PREFIX = "user_";
+
+    private TaskCacheKeys() {
+    }
+
+    /**
+     * Ключ страницы строится из тех же нормализованных параметров, с которыми выполняется запрос:
+     * размер ограничен {@link TaskService#MAX_PAGE_SIZE}, пустое поле сортировки заменяется полем по умолчанию,
+     * направление разбирается без учета регистра. Поэтому size=100 и size=10000, asc и ASC попадают в одну запись.
+     * Невалидное направление отклоняется самим запросом, и результат не кэшируется.
+     * Поколение страниц пользователя ведет {@link TaskCacheInvalidator}: при его увеличении прежние ключи
+     * больше не используются.
+     */
+    public static String pageKey(String pagesPrefix, long generation, int page, int size, String sortBy,
+                                 String direction, TaskFilter filter) {
+        String field = sortBy == null || sortBy.isBlank() ? TaskService.DEFAULT_SORT_FIELD : sortBy;
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.DESC);
+        String key = pagesPrefix + generation + "_page_" + page + "_size_" + Math.min(size, TaskService.MAX_PAGE_SIZE)
+                + "_sort_" + field + "_" + sortDirection;
+        if (filter == null || filter.isEmpty()) {
+            return key;
+        }
+        return key + "_filter_" + filter.getStatus() + "_" + filter.getPriority()
+                + "_" + filter.getAssigneeId() + "_" + filter.getAuthorId()
+                + "_" + filter.getDueFrom() + "_" + filter.getDueTo();
+    }
+
+    public static String pagesPrefix(User user) {
+        return user.getRole().equals(Role.ROLE_ADMIN) ? adminPagesPrefix() : userPagesPrefix(user.getId());
+    }
+
+    public static String userPagesPrefix(Long userId) {
+        return USER_PAGES_PREFIX + userId + "_";
+    }
+
+    public static String adminPagesPrefix() {
+        return ADMIN_PAGES_PREFIX;
+    }
+}
@@ -0,0 +1,322 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.dto.task.TaskEvent;
+import com.dev.taskmanagement.dto.task.TaskEventType;
+import com.dev.taskmanagement.exception.ServiceOverloadedException;
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Поток событий об изменениях задач (Server-Sent Events) для подключенных клиентов вместо периодического
+ * опроса GET /api/tasks. Событие получают автор и исполнитель задачи (при переназначении - и прежний исполнитель)
+ * и все подключенные администраторы - те же пользователи, которые видят задачу в списке.
+ * События публикуются после коммита транзакции, в которой изменилась задача; откаченные изменения не рассылаются.
+ * <p>
+ * У каждого подключения свой ограниченный буфер неотправленных событий. Буфер хранит не больше одного события
+ * на задачу: новое событие задачи заменяет неотправленное, поэтому медленный клиент получает последнее изменение,
+ * а не всю историю. Если в буфере {@code bufferSize} разных задач, он очищается, и клиент получает одно событие
+ * {@code resync} - сигнал перечитать список задач. Отправка выполняется на виртуальных потоках, по одному
+ * на подключение с неотправленными событиями, и не задерживает поток, изменивший задачу.
+ * <p>
+ * Метрики: {@code task.stream.connections} - открытые подключения, {@code task.stream.coalesced} - события,
+ * замененные более новыми, {@code task.stream.resyncs} - переполнения буфера.
+ */
+@Slf4j
+public class TaskEventStream implements MeterBinder, AutoCloseable {
+    private static final String TASK_EVENT = "task";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final int bufferSize;
+    private final int maxConnectionsPerUser;
+    private final Duration timeout;
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Set<Subscription> admins = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats;
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    public TaskEventStream(int bufferSize, int maxConnectionsPerUser, Duration timeout, Duration heartbeat) {
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeout = timeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("task-stream-heartbeat-");
+        threadFactory.setDaemon(true);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Открывает поток событий для пользователя.
+     *
+     * @param user Текущий пользователь
+     * @return SseEmitter подключения
+     * @throws ServiceOverloadedException если у пользователя уже открыто {@code maxConnectionsPerUser} подключений
+     */
+    public SseEmitter subscribe(User user) {
+        Subscription subscription = new Subscription(user.getId(), user.getRole() == Role.ROLE_ADMIN, createEmitter());
+        subscriptions.compute(user.getId(), (userId, userSubscriptions) -> {
+            Set<Subscription> result = userSubscriptions == null ? ConcurrentHashMap.newKeySet() : userSubscriptions;
+            if (result.size() >= maxConnectionsPerUser) {
+                throw new ServiceOverloadedException("Too many open task streams");
+            }
+            result.add(subscription);
+            return result;
+        });
+        if (subscription.admin) {
+            admins.add(subscription);
+        }
+
+        SseEmitter emitter = subscription.emitter;
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscription));
+        log.debug("Task stream opened for user {}", user.getId());
+        return emitter;
+    }
+
+    /**
+     * Публикует событие об изменении задачи после коммита текущей транзакции
+     * (без транзакции - сразу). События одной транзакции рассылаются вместе.
+     *
+     * @param type Вид изменения
+     * @param taskId ID задачи
+     * @param userIds Пользователи, которые видят задачу (автор, исполнители); null-значения игнорируются.
+     *                Администраторы получают событие всегда
+     */
+    public void publish(TaskEventType type, Long taskId, Collection<Long> userIds) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Notification notification = new Notification(new TaskEvent(type, taskId, LocalDateTime.now()),
+                userIds.stream().filter(Objects::nonNull).toList());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(notification);
+            return;
+        }
+        pendingNotifications().add(notification);
+    }
+
+    /**
+     * Создает SseEmitter нового подключения; подключение закрывается через {@code timeout}.
+     */
+    protected SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.stream.connections", subscriptions,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .description("Open task event streams")
+                .register(registry);
+        FunctionCounter.builder("task.stream.coalesced", coalesced, AtomicLong::get)
+                .description("Task events replaced by a newer event of the same task before being sent")
+                .register(registry);
+        FunctionCounter.builder("task.stream.resyncs", resyncs, AtomicLong::get)
+                .description("Task stream buffers dropped in favour of a resync event")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        subscriptions.values().forEach(userSubscriptions ->
+                userSubscriptions.forEach(subscription -> subscription.emitter.complete()));
+        sender.shutdown();
+    }
+
+    /**
+     * Уведомления текущей транзакции; синхронизация регистрируется при первом событии транзакции.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Notification> pendingNotifications() {
+        List<Notification> pending = (List<Notification>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Notification> notifications = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, notifications);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifications.forEach(TaskEventStream.this::deliver);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskEventStream.this);
+                }
+            });
+            pending = notifications;
+        }
+        return pending;
+    }
+
+    private void deliver(Notification notification) {
+        Set<Subscription> recipients = new HashSet<>(admins);
+        for (Long userId : notification.userIds()) {
+            Set<Subscription> userSubscriptions = subscriptions.get(userId);
+            if (userSubscriptions != null) {
+                recipients.addAll(userSubscriptions);
+            }
+        }
+        recipients.forEach(subscription -> subscription.offer(notification.event()));
+    }
+
+    private void heartbeat() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(Subscription::heartbeat));
+    }
+
+    private void remove(Subscription subscription) {
+        subscription.close();
+        admins.remove(subscription);
+        subscriptions.computeIfPresent(subscription.userId, (userId, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    private record Notification(TaskEvent event, List<Long> userIds) {
+    }
+
+    /**
+     * Подключение с буфером неотправленных событий (по одному на задачу, в порядке последнего изменения).
+     * Пока есть что отправить, буфер разбирает ровно одна задача отправки.
+     */
+    private final class Subscription {
+        private final Long userId;
+        private final boolean admin;
+        private final SseEmitter emitter;
+        private final LinkedHashMap<Long, TaskEvent> pending = new LinkedHashMap<>();
+        private boolean resyncRequired;
+        private boolean heartbeatDue;
+        private boolean draining;
+        private boolean closed;
+
+        private Subscription(Long userId, boolean admin, SseEmitter emitter) {
+            this.userId = userId;
+            this.admin = admin;
+            this.emitter = emitter;
+        }
+
+        private void offer(TaskEvent event) {
+            synchronized (this) {
+                // Пока клиент не получил resync, отдельные события не нужны - он перечитает список целиком
+                if (closed || resyncRequired) {
+                    return;
+                }
+                if (pending.remove(event.taskId()) != null) {
+                    coalesced.incrementAndGet();
+                } else if (pending.size() >= bufferSize) {
+                    pending.clear();
+                    resyncRequired = true;
+                    resyncs.incrementAndGet();
+                    log.debug("Task stream buffer of user {} overflowed, requesting resync", userId);
+                }
+                if (!resyncRequired) {
+                    pending.put(event.taskId(), event);
+                }
+                if (!startDraining()) {
+                    return;
+                }
+            }
+            sender.execute(this::drain);
+        }
+
+        private void heartbeat() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                heartbeatDue = true;
+                if (!startDraining()) {
+                    return;
+                }
+            }
+            sender.execute(this::drain);
+        }
+
+        private synchronized void close() {
+            closed = true;
+            pending.clear();
+        }
+
+        private boolean startDraining() {
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                List<SseEmitter.SseEventBuilder> batch;
+                synchronized (this) {
+                    batch = takePending();
+                    if (batch.isEmpty()) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    for (SseEmitter.SseEventBuilder event : batch) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Клиент отключился или подключение уже завершено
+                    log.debug("Task stream of user {} closed: {}", userId, e.getMessage());
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private List<SseEmitter.SseEventBuilder> takePending() {
+            List<SseEmitter.SseEventBuilder> batch = new ArrayList<>();
+            if (closed) {
+                return batch;
+            }
+            if (resyncRequired) {
+                batch.add(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                resyncRequired = false;
+            }
+            pending.values().forEach(event -> batch.add(SseEmitter.event().name(TASK_EVENT).data(event)));
+            pending.clear();
+            if (heartbeatDue) {
+                if (batch.isEmpty()) {
+                    batch.add(SseEmitter.event().comment("heartbeat"));
+                }
+                heartbeatDue = false;
+            }
+            return batch;
+        }
+    }
+}
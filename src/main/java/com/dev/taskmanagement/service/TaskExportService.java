@@ -0,0 +1,112 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.dto.task.TaskExportFormat;
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка всех задач в NDJSON или CSV.
+ * Задачи читаются из БД курсором и записываются в выходной поток по одной,
+ * поэтому потребление памяти не зависит от количества задач.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+    private static final int FLUSH_INTERVAL = 500;
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,authorId,authorName,assigneeId,assigneeName,createdAt,updatedAt,dueDate";
+
+    private final TaskRepository taskRepository;
+    private final TaskService taskService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Записывает все задачи в выходной поток в указанном формате.
+     * Каждые {@value #FLUSH_INTERVAL} строк контекст персистентности очищается,
+     * а записанные данные отправляются клиенту.
+     *
+     * @param format Формат выгрузки
+     * @param out Выходной поток, не закрывается методом
+     * @return Количество выгруженных задач
+     * @throws IOException если запись в поток не удалась
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(TaskExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        if (format == TaskExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<Task> tasks = taskRepository.streamAllForExport()) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                TaskResponse response = taskService.convertToResponse(iterator.next());
+                if (format == TaskExportFormat.CSV) {
+                    writeCsv(writer, response);
+                } else {
+                    objectMapper.writeValue(generator, response);
+                    generator.writeRaw('\n');
+                }
+                if (++count % FLUSH_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                    writer.flush();
+                }
+            }
+        }
+        generator.flush();
+        writer.flush();
+        log.debug("Exported {} tasks as {}", count, format);
+        return count;
+    }
+
+    private void writeCsv(Writer writer, TaskResponse task) throws IOException {
+        Object[] values = {
+                task.getId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(),
+                task.getAuthorId(), task.getAuthorName(), task.getAssigneeId(), task.getAssigneeName(),
+                task.getCreatedAt(), task.getUpdatedAt(), task.getDueDate()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
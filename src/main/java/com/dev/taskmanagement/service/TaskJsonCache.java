@@ -0,0 +1,54 @@
+package com.dev.taskmanagement.service;
+
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кэш уже сериализованных задач: JSON в UTF-8, готовый к записи в тело ответа.
+ * Даже при попадании в кэш {@value TaskCacheKeys#TASKS_CACHE} ответ GET /api/tasks/{id} иначе
+ * заново сериализуется Jackson (включая форматирование дат) на каждый запрос.
+ * Запись хранится вместе с версией задачи и годится только для этой версии, поэтому любое изменение задачи,
+ * включая комментарии, делает её устаревшей без отдельной инвалидации. Удаление задачи и пакетные изменения
+ * удаляют записи вместе с кэшем {@value TaskCacheKeys#TASKS_CACHE} ({@link TaskCacheInvalidator}).
+ * Кэш необязательный: включается спецификацией {@code app.cache.specs.taskJson}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskJsonCache {
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Возвращает JSON задачи из кэша или сериализует её и запоминает результат.
+     * Байты совпадают с тем, что записал бы конвертер Jackson приложения (тот же ObjectMapper).
+     *
+     * @param task Задача
+     * @return JSON задачи в UTF-8 или null, если кэш не включен
+     */
+    public byte[] toJson(TaskResponse task) {
+        Cache cache = cacheManager.getCache(TaskCacheKeys.TASK_JSON_CACHE);
+        if (cache == null) {
+            return null;
+        }
+        TaskJson cached = cache.get(task.getId(), TaskJson.class);
+        if (cached != null && cached.version() == task.getVersion()) {
+            return cached.json();
+        }
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(task);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize task " + task.getId(), e);
+        }
+        cache.put(task.getId(), new TaskJson(task.getVersion(), json));
+        return json;
+    }
+
+    private record TaskJson(long version, byte[] json) {
+    }
+}
@@ -1,23 +1,52 @@
 package com.dev.taskmanagement.service;
 
+import com.dev.taskmanagement.config.PrimaryReads;
+import com.dev.taskmanagement.dto.CursorPageResponse;
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.BulkItemResult;
+import com.dev.taskmanagement.dto.task.BulkTaskResponse;
+import com.dev.taskmanagement.dto.task.TaskAccess;
+import com.dev.taskmanagement.dto.task.TaskCursor;
+import com.dev.taskmanagement.dto.task.TaskEventType;
+import com.dev.taskmanagement.dto.task.TaskFilter;
 import com.dev.taskmanagement.dto.task.TaskRequest;
 import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.dto.task.TaskStatusChange;
+import com.dev.taskmanagement.dto.task.TaskUpdate;
+import com.dev.taskmanagement.exception.PreconditionFailedException;
 import com.dev.taskmanagement.exception.ResourceNotFoundException;
 import com.dev.taskmanagement.model.Role;
 import com.dev.taskmanagement.model.Task;
 import com.dev.taskmanagement.model.TaskStatus;
 import com.dev.taskmanagement.model.User;
 import com.dev.taskmanagement.repository.TaskRepository;
+import com.dev.taskmanagement.repository.TaskSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +61,7 @@ import java.util.stream.Collectors;
  *   <li>Проверка прав доступа для различных операций</li>
  *   <li>Кэширование часто запрашиваемых данных</li>
  *   <li>Пагинация результатов</li>
+ *   <li>Публикация событий об изменениях задач в {@link TaskEventStream}</li>
  * </ul>
  *
  * @see Task
@@ -46,14 +76,26 @@ public class TaskService {
     private static final String ACCESS_DENIED_MESSAGE = "You do not have permission to access this task";
     private static final String MODIFICATION_DENIED_MESSAGE = "You do not have permission to modify this task";
     private static final String TASK_NOT_FOUND_MESSAGE = "Task not found";
+    private static final String TASK_MODIFIED_MESSAGE = "Task has been modified since it was read";
+    private static final String DUPLICATE_TASK_MESSAGE = "Duplicate task ID in batch";
+    // Видимость на уровне пакета - для ключей страниц в TaskCacheKeys
+    static final int MAX_PAGE_SIZE = 100;
+    static final String DEFAULT_SORT_FIELD = "createdAt";
+    private static final Set<String> SORTABLE_FIELDS =
+            Set.of("id", "title", "status", "priority", "createdAt", "updatedAt", "dueDate");
 
     private final TaskRepository taskRepository;
     private final UserService userService;
+    private final TaskCacheInvalidator taskCacheInvalidator;
+    private final CacheManager cacheManager;
+    private final TaskAccessResolver taskAccessResolver;
+    private final TaskEventStream taskEventStream;
 
     /**
      * Создает новую задачу в системе.
      * Метод создает задачу с указанными параметрами и назначает ей автора.
-     * После создания задача сохраняется в базе данных и кэш очищается.
+     * После создания задача сохраняется в базе данных, а из кэша удаляются
+     * только страницы списка автора, исполнителя и администраторов.
      *
      * @param request Данные для создания задачи
      * @param authorId ID пользователя, создающего задачу
@@ -61,7 +103,6 @@ public class TaskService {
      * @throws ResourceNotFoundException если автор не найден
      */
     @Transactional
-    @CacheEvict(value = "tasks", allEntries = true)
     public TaskResponse createTask(TaskRequest request, Long authorId) {
         log.debug("Creating task for author ID: {}", authorId);
         
@@ -73,6 +114,8 @@ public class TaskService {
         Task task = buildTask(request, author, assignee);
         Task savedTask = taskRepository.save(task);
         log.debug("Task created with ID: {}", savedTask.getId());
+        evictPagesOf(savedTask);
+        publishEvent(TaskEventType.CREATED, savedTask);
         
         return convertToResponse(savedTask);
     }
@@ -80,7 +123,8 @@ public class TaskService {
     /**
      * Получает задачу по её идентификатору.
      * Проверяет права доступа текущего пользователя к задаче.
-     * Результат кэшируется для оптимизации производительности.
+     * Данные задачи кэшируются по ID, проверка доступа выполняется при каждом обращении,
+     * в том числе при попадании в кэш.
      *
      * @param taskId ID задачи
      * @param currentUser Текущий пользователь
@@ -89,34 +133,93 @@ public class TaskService {
      * @throws SecurityException если у пользователя нет прав доступа
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "tasks", key = "#taskId")
     public TaskResponse getTaskById(Long taskId, User currentUser) {
-        Task task = findTaskById(taskId);
-        validateTaskAccess(task, currentUser);
-        return convertToResponse(task);
+        return getTaskById(taskId, null, currentUser);
+    }
+
+    /**
+     * Получает задачу по её идентификатору не старее уже известной версии.
+     * Запись кэша может отставать от БД: читатель, загрузивший задачу до коммита изменения, может вернуть её в кэш
+     * после инвалидации ({@link TaskCacheInvalidator}). Такая запись, если она старее {@code knownVersion},
+     * заменяется задачей из основной БД.
+     *
+     * @param taskId ID задачи
+     * @param knownVersion Версия задачи, уже прочитанная из БД в этом запросе (например, {@link #getTaskVersion}),
+     *                     или null без проверки
+     * @param currentUser Текущий пользователь
+     * @return TaskResponse с данными задачи
+     * @throws ResourceNotFoundException если задача не найдена
+     * @throws SecurityException если у пользователя нет прав доступа
+     */
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long taskId, Long knownVersion, User currentUser) {
+        Cache cache = cacheManager.getCache(TaskCacheKeys.TASKS_CACHE);
+        TaskResponse response = cache.get(taskId, TaskResponse.class);
+        boolean outdated = response != null && knownVersion != null && response.getVersion() < knownVersion;
+        if (outdated) {
+            log.debug("Cached task {} version {} is older than {}, reloading", taskId, response.getVersion(), knownVersion);
+            cache.evict(taskId);
+        }
+        if (response == null || outdated) {
+            // Недавно измененная задача читается из основной БД: строка с отстающей реплики осталась бы в кэше
+            response = outdated || taskCacheInvalidator.isRecentlyChanged(taskId)
+                    ? PrimaryReads.call(() -> convertToResponse(findTaskById(taskId)))
+                    : convertToResponse(findTaskById(taskId));
+            cache.put(taskId, response);
+        }
+        if (!isTaskAccessibleInternal(response.getAuthorId(), response.getAssigneeId(), currentUser)) {
+            throw new SecurityException(ACCESS_DENIED_MESSAGE);
+        }
+        return response;
+    }
+
+    /**
+     * Возвращает текущую версию задачи без загрузки самой задачи и пользователей.
+     * Используется для проверки условных запросов (If-None-Match, If-Match): данные берутся
+     * из того же легкого запроса, что и проверка доступа, и запоминаются в рамках HTTP-запроса.
+     *
+     * @param taskId ID задачи
+     * @param currentUser Текущий пользователь
+     * @return Версия задачи
+     * @throws ResourceNotFoundException если задача не найдена
+     * @throws SecurityException если у пользователя нет прав доступа
+     */
+    public long getTaskVersion(Long taskId, User currentUser) {
+        TaskAccess access = taskAccessResolver.resolve(taskId);
+        if (!isTaskAccessibleInternal(access.authorId(), access.assigneeId(), currentUser)) {
+            throw new SecurityException(ACCESS_DENIED_MESSAGE);
+        }
+        return access.version();
     }
 
     /**
      * Обновляет существующую задачу.
      * Проверяет права пользователя на модификацию задачи.
-     * Обновляет кэш после изменения.
+     * Обновляет кэш задачи и инвалидирует страницы списка затронутых пользователей.
      *
      * @param taskId ID задачи
      * @param request Новые данные задачи
+     * @param expectedVersion Версия, которую видел клиент (If-Match), или null без проверки
      * @param currentUser Текущий пользователь
      * @return TaskResponse с обновленными данными
      * @throws ResourceNotFoundException если задача не найдена
      * @throws SecurityException если у пользователя нет прав на модификацию
+     * @throws PreconditionFailedException если версия задачи отличается от ожидаемой
      */
     @Transactional
     @CachePut(value = "tasks", key = "#taskId")
-    public TaskResponse updateTask(Long taskId, TaskRequest request, User currentUser) {
+    public TaskResponse updateTask(Long taskId, TaskRequest request, Long expectedVersion, User currentUser) {
         Task task = findTaskById(taskId);
         validateTaskModification(task, currentUser);
+        validateExpectedVersion(task, expectedVersion);
         
         updateTaskFields(task, request, currentUser);
-        Task updatedTask = taskRepository.save(task);
+        // flush до построения ответа - в ответ и кэш попадает уже увеличенная версия
+        Task updatedTask = taskRepository.saveAndFlush(task);
         log.debug("Task {} updated by user {}", taskId, currentUser.getEmail());
+        evictPagesOf(updatedTask);
+        taskAccessResolver.forget(taskId);
+        publishEvent(TaskEventType.UPDATED, updatedTask);
         
         return convertToResponse(updatedTask);
     }
@@ -124,7 +227,7 @@ public class TaskService {
     /**
      * Удаляет задачу из системы.
      * Только администраторы могут удалять задачи.
-     * После удаления задача удаляется из кэша.
+     * После удаления задача удаляется из кэша вместе со страницами списка затронутых пользователей.
      *
      * @param taskId ID задачи
      * @param currentUser Текущий пользователь
@@ -138,56 +241,159 @@ public class TaskService {
         Task task = findTaskById(taskId);
         taskRepository.delete(task);
         log.debug("Task {} deleted by admin {}", taskId, currentUser.getEmail());
+        taskCacheInvalidator.evict(List.of(taskId), Arrays.asList(task.getAuthor().getId(), idOf(task.getAssignee())));
+        publishEvent(TaskEventType.DELETED, task);
     }
 
     /**
-     * Получает список задач с пагинацией.
+     * Получает страницу задач.
      * Для администраторов возвращает все задачи,
      * для обычных пользователей - только их задачи или задачи, где они исполнители.
-     * Результаты кэшируются для каждого пользователя и параметров пагинации.
+     * Пагинация, сортировка и фильтрация выполняются на стороне БД, размер страницы ограничен {@value #MAX_PAGE_SIZE}.
+     * Результаты кэшируются для каждого пользователя (для администраторов - общие), параметров пагинации и фильтра
+     * под текущим поколением страниц пользователя ({@link TaskCacheInvalidator#pageKey}).
+     * При чтении с реплики страница для кэша читается из основной БД, только если страницы пользователя
+     * инвалидировались в пределах окна отставания реплики ({@link TaskCacheInvalidator#arePagesRecentlyChanged}).
      *
      * @param page Номер страницы (начиная с 0)
      * @param size Размер страницы
+     * @param sortBy Поле сортировки
+     * @param direction Направление сортировки (ASC/DESC)
+     * @param filter Фильтры по статусу, приоритету, исполнителю, автору и сроку выполнения
      * @param currentUser Текущий пользователь
-     * @return Список TaskResponse с учетом пагинации
+     * @return PageResponse с задачами и метаданными пагинации
+     * @throws IllegalArgumentException если поле или направление сортировки невалидны
+     *                                  или начало диапазона срока позже его конца
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "tasks", key = "'user_' + #currentUser.id + '_page_' + #page + '_size_' + #size")
-    public List<TaskResponse> getAllTasks(int page, int size, User currentUser) {
+    @SuppressWarnings("unchecked")
+    public PageResponse<TaskResponse> getAllTasks(int page, int size, String sortBy, String direction,
+                                                  TaskFilter filter, User currentUser) {
         if (page < 0 || size <= 0) {
-            return List.of();
+            return PageResponse.empty(page, size);
         }
-        
+        Cache cache = cacheManager.getCache(TaskCacheKeys.TASK_PAGES_CACHE);
+        if (cache == null) {
+            return loadTasks(page, size, sortBy, direction, filter, currentUser);
+        }
+        // Ключ с поколением страниц берется до запроса, а не при сохранении результата
+        String key = taskCacheInvalidator.pageKey(currentUser, page, size, sortBy, direction, filter);
+        PageResponse<TaskResponse> response = cache.get(key, PageResponse.class);
+        if (response == null) {
+            response = taskCacheInvalidator.arePagesRecentlyChanged(currentUser)
+                    ? PrimaryReads.call(() -> loadTasks(page, size, sortBy, direction, filter, currentUser))
+                    : loadTasks(page, size, sortBy, direction, filter, currentUser);
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    private PageResponse<TaskResponse> loadTasks(int page, int size, String sortBy, String direction,
+                                                 TaskFilter filter, User currentUser) {
         log.debug("Fetching tasks for user: {}", currentUser.getEmail());
-        List<Task> tasks = fetchTasksForUser(currentUser);
-        return applyPagination(tasks, page, size).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), buildSort(sortBy, direction));
+        if (filter == null || filter.isEmpty()) {
+            return PageResponse.from(fetchTasksForUser(currentUser, pageable), this::convertToResponse);
+        }
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new IllegalArgumentException("dueFrom must not be after dueTo");
+        }
+        Specification<Task> specification = TaskSpecifications.visibleTo(visibleToUserId(currentUser))
+                .and(TaskSpecifications.matching(filter));
+        return PageResponse.from(taskRepository.findAll(specification, pageable), this::convertToResponse);
+    }
+
+    /**
+     * Получает страницу задач с keyset-пагинацией.
+     * Задачи упорядочены по (createdAt, id) по убыванию, следующая страница
+     * начинается строго после переданного курсора, поэтому стоимость запроса не зависит
+     * от глубины пролистывания, а новые задачи не приводят к пропускам и дублям.
+     * Правила видимости совпадают с {@link #getAllTasks}.
+     *
+     * @param cursor Курсор из предыдущей страницы или null для первой страницы
+     * @param size Размер страницы
+     * @param currentUser Текущий пользователь
+     * @return CursorPageResponse с задачами и курсором следующей страницы
+     * @throws IllegalArgumentException если курсор невалидный
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<TaskResponse> getTasksByCursor(String cursor, int size, User currentUser) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        TaskCursor position = cursor == null || cursor.isBlank() ? null : TaskCursor.decode(cursor);
+
+        // Запрашиваем на одну запись больше, чтобы узнать о наличии следующей страницы без COUNT
+        Map<TaskCursor, Task> window = fetchTasksForUser(currentUser, position, PageRequest.ofSize(pageSize + 1));
+        List<TaskCursor> positions = List.copyOf(window.keySet());
+        boolean hasNext = positions.size() > pageSize;
+        List<TaskCursor> pagePositions = hasNext ? positions.subList(0, pageSize) : positions;
+
+        return CursorPageResponse.<TaskResponse>builder()
+                .content(pagePositions.stream()
+                        .map(window::get)
+                        .filter(Objects::nonNull)
+                        .map(this::convertToResponse)
+                        .toList())
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? pagePositions.get(pageSize - 1).encode() : null)
+                .build();
+    }
+
+    /**
+     * Полнотекстовый поиск задач по заголовку, описанию и комментариям.
+     * Результаты упорядочены по релевантности, правила видимости совпадают с {@link #getAllTasks}.
+     *
+     * @param query Поисковый запрос
+     * @param page Номер страницы (начиная с 0)
+     * @param size Размер страницы
+     * @param currentUser Текущий пользователь
+     * @return PageResponse с найденными задачами и метаданными пагинации
+     * @throws IllegalArgumentException если запрос пустой
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<TaskResponse> searchTasks(String query, int page, int size, User currentUser) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (page < 0 || size <= 0) {
+            return PageResponse.empty(page, size);
+        }
+
+        Page<Long> ids = taskRepository.searchTaskIds(query.trim(), visibleToUserId(currentUser),
+                PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE)));
+        // Задачи выдаются в порядке релевантности
+        return PageResponse.from(findTasksOfPage(ids), this::convertToResponse);
     }
 
     /**
      * Обновляет статус задачи.
      * Проверяет права пользователя на модификацию задачи.
-     * Обновляет кэш после изменения.
+     * Обновляет кэш задачи и инвалидирует страницы списка затронутых пользователей.
      *
      * @param taskId ID задачи
      * @param status Новый статус
+     * @param expectedVersion Версия, которую видел клиент (If-Match), или null без проверки
      * @param currentUser Текущий пользователь
      * @return TaskResponse с обновленными данными
      * @throws ResourceNotFoundException если задача не найдена
      * @throws SecurityException если у пользователя нет прав на модификацию
      * @throws IllegalArgumentException если статус невалидный
+     * @throws PreconditionFailedException если версия задачи отличается от ожидаемой
      */
     @Transactional
     @CachePut(value = "tasks", key = "#taskId")
-    public TaskResponse updateTaskStatus(Long taskId, String status, User currentUser) {
+    public TaskResponse updateTaskStatus(Long taskId, String status, Long expectedVersion, User currentUser) {
         Task task = findTaskById(taskId);
         validateTaskModification(task, currentUser);
+        validateExpectedVersion(task, expectedVersion);
         
         TaskStatus newStatus = TaskStatus.valueOf(status.toUpperCase());
         task.setStatus(newStatus);
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
         log.debug("Task {} status updated to {} by {}", taskId, status, currentUser.getEmail());
+        evictPagesOf(updatedTask);
+        taskAccessResolver.forget(taskId);
+        publishEvent(TaskEventType.STATUS_CHANGED, updatedTask);
         
         return convertToResponse(updatedTask);
     }
@@ -195,34 +401,241 @@ public class TaskService {
     /**
      * Назначает исполнителя задачи.
      * Только администраторы могут назначать исполнителей.
-     * Обновляет кэш после изменения.
+     * Обновляет кэш задачи и инвалидирует страницы списка затронутых пользователей.
      *
      * @param taskId ID задачи
      * @param assigneeId ID нового исполнителя
+     * @param expectedVersion Версия, которую видел клиент (If-Match), или null без проверки
      * @param currentUser Текущий пользователь
      * @return TaskResponse с обновленными данными
      * @throws ResourceNotFoundException если задача или исполнитель не найдены
      * @throws SecurityException если пользователь не администратор
+     * @throws PreconditionFailedException если версия задачи отличается от ожидаемой
      */
     @Transactional
     @CachePut(value = "tasks", key = "#taskId")
-    public TaskResponse assignTask(Long taskId, Long assigneeId, User currentUser) {
+    public TaskResponse assignTask(Long taskId, Long assigneeId, Long expectedVersion, User currentUser) {
         validateAdminAccess(currentUser);
         
         Task task = findTaskById(taskId);
+        validateExpectedVersion(task, expectedVersion);
         User assignee = findUserById(assigneeId);
+        Long previousAssigneeId = idOf(task.getAssignee());
         
         task.setAssignee(assignee);
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
         log.debug("Task {} assigned to user {} by admin {}", taskId, assigneeId, currentUser.getEmail());
+        List<Long> affectedUsers = Arrays.asList(updatedTask.getAuthor().getId(), previousAssigneeId, assignee.getId());
+        taskCacheInvalidator.evictPages(List.of(taskId), affectedUsers);
+        taskAccessResolver.forget(taskId);
+        // Прежний исполнитель тоже получает событие, чтобы убрать задачу из своего списка
+        taskEventStream.publish(TaskEventType.ASSIGNED, taskId, affectedUsers);
         
         return convertToResponse(updatedTask);
     }
 
-    private List<Task> fetchTasksForUser(User user) {
-        return user.getRole().equals(Role.ROLE_ADMIN) 
-                ? taskRepository.findAll()
-                : taskRepository.findByAuthorOrAssignee(user);
+    /**
+     * Создает пакет задач в одной транзакции.
+     * Все исполнители загружаются одним запросом, задачи сохраняются пакетами JDBC,
+     * кэш инвалидируется один раз для всего пакета.
+     * Элементы с несуществующим исполнителем пропускаются и возвращаются как неуспешные,
+     * остальные задачи создаются.
+     *
+     * @param requests Данные для создания задач
+     * @param authorId ID пользователя, создающего задачи
+     * @return BulkTaskResponse с результатом по каждому элементу в порядке запроса
+     * @throws ResourceNotFoundException если автор не найден
+     */
+    @Transactional
+    public BulkTaskResponse createTasks(List<TaskRequest> requests, Long authorId) {
+        log.debug("Creating {} tasks for author ID: {}", requests.size(), authorId);
+        User author = findUserById(authorId);
+        Map<Long, User> assignees = userService.getUsersByIds(requests.stream()
+                .map(TaskRequest::getAssigneeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            Long assigneeId = request.getAssigneeId();
+            if (assigneeId != null && !assignees.containsKey(assigneeId)) {
+                results[i] = BulkItemResult.failure(i, null, "User not found with id: " + assigneeId);
+                continue;
+            }
+            indexes.add(i);
+            tasks.add(buildTask(request, author, assigneeId != null ? assignees.get(assigneeId) : null));
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        for (int i = 0; i < savedTasks.size(); i++) {
+            results[indexes.get(i)] = BulkItemResult.success(indexes.get(i), convertToResponse(savedTasks.get(i)));
+            publishEvent(TaskEventType.CREATED, savedTasks.get(i));
+        }
+
+        Set<Long> affectedUsers = new HashSet<>(assignees.keySet());
+        affectedUsers.add(authorId);
+        taskCacheInvalidator.evictPages(savedTasks.stream().map(Task::getId).toList(), affectedUsers);
+        log.debug("Created {} of {} tasks for author ID: {}", savedTasks.size(), requests.size(), authorId);
+        return BulkTaskResponse.of(Arrays.asList(results));
+    }
+
+    /**
+     * Обновляет статусы пакета задач в одной транзакции.
+     * Все задачи загружаются одним запросом, изменения записываются пакетами JDBC,
+     * кэш инвалидируется один раз для всего пакета.
+     * Ненайденные задачи, задачи, которые пользователь не может изменять, и повторы задачи в пакете
+     * возвращаются как неуспешные, остальные обновляются.
+     *
+     * @param changes Изменения статусов
+     * @param currentUser Текущий пользователь
+     * @return BulkTaskResponse с результатом по каждому элементу в порядке запроса
+     */
+    @Transactional
+    public BulkTaskResponse updateTaskStatuses(List<TaskStatusChange> changes, User currentUser) {
+        return updateInBatch(changes.stream().map(TaskStatusChange::getTaskId).toList(), currentUser,
+                TaskEventType.STATUS_CHANGED, (task, index) -> task.setStatus(changes.get(index).getStatus()));
+    }
+
+    /**
+     * Обновляет пакет задач в одной транзакции по тем же правилам, что и {@link #updateTask}:
+     * администратор меняет все поля задачи, исполнитель - только статус.
+     * Все задачи загружаются одним запросом, изменения записываются пакетами JDBC,
+     * кэш инвалидируется один раз для всего пакета.
+     * Ненайденные задачи, задачи, которые пользователь не может изменять, и повторы задачи в пакете
+     * возвращаются как неуспешные, остальные обновляются.
+     *
+     * @param updates Новые данные задач
+     * @param currentUser Текущий пользователь
+     * @return BulkTaskResponse с результатом по каждому элементу в порядке запроса
+     */
+    @Transactional
+    public BulkTaskResponse updateTasks(List<TaskUpdate> updates, User currentUser) {
+        return updateInBatch(updates.stream().map(TaskUpdate::getTaskId).toList(), currentUser,
+                TaskEventType.UPDATED, (task, index) -> updateTaskFields(task, updates.get(index).getTask(), currentUser));
+    }
+
+    /**
+     * Общая часть пакетных изменений: загрузка задач, проверка прав, один flush и одна инвалидация кэша.
+     * Повтор задачи в пакете отклоняется, чтобы каждому успешному элементу соответствовало
+     * примененное изменение, а не перезаписанное следующим элементом.
+     */
+    private BulkTaskResponse updateInBatch(List<Long> taskIds, User currentUser, TaskEventType eventType,
+                                           ObjIntConsumer<Task> change) {
+        Map<Long, Task> tasks = findTasksByIds(taskIds.stream().distinct().toList());
+
+        BulkItemResult[] results = new BulkItemResult[taskIds.size()];
+        Map<Integer, Task> updated = new LinkedHashMap<>();
+        Set<Long> seenTaskIds = new HashSet<>();
+        Set<Long> affectedUsers = new HashSet<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            Task task = tasks.get(taskId);
+            if (task == null) {
+                results[i] = BulkItemResult.failure(i, taskId, TASK_NOT_FOUND_MESSAGE);
+            } else if (!seenTaskIds.add(taskId)) {
+                results[i] = BulkItemResult.failure(i, taskId, DUPLICATE_TASK_MESSAGE);
+            } else if (!currentUser.getRole().equals(Role.ROLE_ADMIN) && !isAssignee(task, currentUser)) {
+                results[i] = BulkItemResult.failure(i, taskId, MODIFICATION_DENIED_MESSAGE);
+            } else {
+                change.accept(task, i);
+                updated.put(i, task);
+                affectedUsers.add(task.getAuthor().getId());
+                affectedUsers.add(idOf(task.getAssignee()));
+            }
+        }
+
+        // Один flush - UPDATE уходят пакетом, а updatedAt в ответе уже актуален
+        taskRepository.flush();
+        updated.forEach((index, task) -> {
+            results[index] = BulkItemResult.success(index, convertToResponse(task));
+            publishEvent(eventType, task);
+        });
+        Set<Long> updatedTaskIds = updated.values().stream().map(Task::getId).collect(Collectors.toSet());
+        taskCacheInvalidator.evict(updatedTaskIds, affectedUsers);
+        updatedTaskIds.forEach(taskAccessResolver::forget);
+        log.debug("Updated {} of {} tasks ({}) by {}", updatedTaskIds.size(), taskIds.size(), eventType, currentUser.getEmail());
+        return BulkTaskResponse.of(Arrays.asList(results));
+    }
+
+    private Page<Task> fetchTasksForUser(User user, Pageable pageable) {
+        if (user.getRole().equals(Role.ROLE_ADMIN)) {
+            return taskRepository.findAll(pageable);
+        }
+        // Сначала ID страницы (UNION ALL по индексам автора и исполнителя), затем задачи одним запросом
+        return findTasksOfPage(taskRepository.findVisibleTaskIds(user.getId(), pageable));
+    }
+
+    /**
+     * Окно ленты: позиции в порядке ленты и задачи по ним. Задача, удаленная между чтением позиций
+     * и загрузкой задач, остается в окне без задачи (null): наличие следующей страницы и курсор считаются
+     * по позициям, иначе удаление на границе страницы обрывало бы ленту.
+     */
+    private Map<TaskCursor, Task> fetchTasksForUser(User user, TaskCursor position, Pageable limit) {
+        Map<TaskCursor, Task> window = new LinkedHashMap<>();
+        if (user.getRole().equals(Role.ROLE_ADMIN)) {
+            List<Task> tasks = position == null
+                    ? taskRepository.findFirstByCreatedAtDesc(limit)
+                    : taskRepository.findCreatedBefore(position.createdAt(), position.id(), limit);
+            tasks.forEach(task -> window.put(new TaskCursor(task.getCreatedAt(), task.getId()), task));
+            return window;
+        }
+        List<TaskCursor> positions = taskRepository.findVisibleTaskPositionsCreatedBefore(user.getId(),
+                position == null ? null : position.createdAt(),
+                position == null ? null : position.id(),
+                limit.getPageSize());
+        Map<Long, Task> tasks = findTasksByIds(positions.stream().map(TaskCursor::id).toList());
+        positions.forEach(taskPosition -> window.put(taskPosition, tasks.get(taskPosition.id())));
+        return window;
+    }
+
+    /**
+     * Загружает задачи страницы ID в порядке страницы.
+     * ID и задачи читаются разными запросами: задача, удаленная между ними, пропускается
+     * (страница становится на элемент короче), а не попадает в страницу как null.
+     */
+    private Page<Task> findTasksOfPage(Page<Long> ids) {
+        Map<Long, Task> tasks = findTasksByIds(ids.getContent());
+        List<Task> content = ids.getContent().stream().map(tasks::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Загружает задачи с автором и исполнителем одним запросом; порядок задает вызывающий код по ID,
+     * задачи, удаленные после чтения ID, в результат не попадают.
+     */
+    private Map<Long, Task> findTasksByIds(List<Long> ids) {
+        return taskRepository.findAllWithUsersByIdIn(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    /**
+     * ID пользователя для ограничения выборки его задачами; null для администратора (все задачи).
+     */
+    private Long visibleToUserId(User user) {
+        return user.getRole().equals(Role.ROLE_ADMIN) ? null : user.getId();
+    }
+
+    private Sort buildSort(String sortBy, String direction) {
+        String field = sortBy == null || sortBy.isBlank() ? DEFAULT_SORT_FIELD : sortBy;
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field);
+        }
+        Sort.Direction sortDirection = direction == null || direction.isBlank()
+                ? Sort.Direction.DESC
+                : Sort.Direction.fromString(direction);
+        Sort sort = Sort.by(sortDirection, field);
+        return "id".equals(field) ? sort : sort.and(Sort.by(sortDirection, "id"));
+    }
+
+    private void evictPagesOf(Task task) {
+        taskCacheInvalidator.evictPages(List.of(task.getId()), Arrays.asList(task.getAuthor().getId(), idOf(task.getAssignee())));
+    }
+
+    private void publishEvent(TaskEventType type, Task task) {
+        taskEventStream.publish(type, task.getId(), Arrays.asList(task.getAuthor().getId(), idOf(task.getAssignee())));
     }
 
     private void updateTaskFields(Task task, TaskRequest request, User currentUser) {
@@ -238,7 +651,7 @@ public class TaskService {
     }
 
     private Task findTaskById(Long taskId) {
-        return taskRepository.findById(taskId)
+        return taskRepository.findWithUsersById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException(TASK_NOT_FOUND_MESSAGE));
     }
 
@@ -248,52 +661,70 @@ public class TaskService {
         }
     }
 
-    private void validateTaskAccess(Task task, User user) {
-        if (!isTaskAccessibleInternal(task, user)) {
-            throw new SecurityException(ACCESS_DENIED_MESSAGE);
+    /**
+     * Проверка If-Match: задача не должна была измениться с момента, когда её прочитал клиент.
+     * Одновременное изменение после этой проверки отклоняется при flush по колонке version.
+     */
+    private void validateExpectedVersion(Task task, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != task.getVersion()) {
+            throw new PreconditionFailedException(TASK_MODIFIED_MESSAGE);
         }
     }
 
     private void validateTaskModification(Task task, User user) {
-        if (!user.getRole().equals(Role.ROLE_ADMIN) && 
-            (task.getAssignee() == null || !task.getAssignee().equals(user))) {
+        if (!user.getRole().equals(Role.ROLE_ADMIN) && !isAssignee(task, user)) {
             throw new SecurityException(MODIFICATION_DENIED_MESSAGE);
         }
     }
 
+    /**
+     * Проверяет, может ли пользователь просматривать задачу.
+     * Используется в {@code @PreAuthorize}: читает только автора и исполнителя задачи
+     * через {@link TaskAccessResolver}, не загружая саму задачу.
+     *
+     * @param taskId ID задачи
+     * @param user Пользователь
+     * @return true, если пользователь - администратор, автор или исполнитель задачи
+     * @throws ResourceNotFoundException если задача не найдена
+     */
     public boolean isTaskAccessible(Long taskId, User user) {
         if (taskId == null || user == null) {
             return false;
         }
-        Task task = findTaskById(taskId);
-        return isTaskAccessibleInternal(task, user);
+        TaskAccess access = taskAccessResolver.resolve(taskId);
+        return isTaskAccessibleInternal(access.authorId(), access.assigneeId(), user);
     }
 
+    /**
+     * Проверяет, может ли пользователь изменять задачу.
+     * Используется в {@code @PreAuthorize}: читает только автора и исполнителя задачи
+     * через {@link TaskAccessResolver}, не загружая саму задачу.
+     *
+     * @param taskId ID задачи
+     * @param user Пользователь
+     * @return true, если пользователь - администратор или исполнитель задачи
+     * @throws ResourceNotFoundException если задача не найдена
+     */
     public boolean isTaskEditableByUser(Long taskId, User user) {
         if (taskId == null || user == null) {
             return false;
         }
-        Task task = findTaskById(taskId);
-        return user.getRole().equals(Role.ROLE_ADMIN) ||
-               (task.getAssignee() != null && task.getAssignee().equals(user));
+        return user.getRole().equals(Role.ROLE_ADMIN)
+                || user.getId().equals(taskAccessResolver.resolve(taskId).assigneeId());
     }
 
-    private boolean isTaskAccessibleInternal(Task task, User user) {
+    private boolean isTaskAccessibleInternal(Long authorId, Long assigneeId, User user) {
         return user.getRole().equals(Role.ROLE_ADMIN) ||
-               task.getAuthor().equals(user) ||
-               (task.getAssignee() != null && task.getAssignee().equals(user));
+               user.getId().equals(authorId) ||
+               user.getId().equals(assigneeId);
     }
 
-    private List<Task> applyPagination(List<Task> tasks, int page, int size) {
-        if (tasks.isEmpty()) {
-            return tasks;
-        }
-        int start = page * size;
-        if (start >= tasks.size()) {
-            log.debug("Requested page {} is beyond available tasks (total: {})", page, tasks.size());
-            return List.of();
-        }
-        return tasks.subList(start, Math.min(start + size, tasks.size()));
+    private boolean isAssignee(Task task, User user) {
+        return user.getId().equals(idOf(task.getAssignee()));
+    }
+
+    private Long idOf(User user) {
+        return user != null ? user.getId() : null;
     }
 
     private Task buildTask(TaskRequest request, User author, User assignee) {
@@ -316,7 +747,8 @@ public class TaskService {
         task.setDueDate(request.getDueDate());
     }
 
-    private TaskResponse convertToResponse(Task task) {
+    // Видимость на уровне пакета - для TaskExportService и TaskServiceBenchmark (src/jmh/java)
+    TaskResponse convertToResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -325,11 +757,14 @@ public class TaskService {
                 .priority(task.getPriority())
                 .authorId(task.getAuthor().getId())
                 .authorName(formatUserName(task.getAuthor()))
-                .assigneeId(task.getAssignee() != null ? task.getAssignee().getId() : null)
+                .assigneeId(idOf(task.getAssignee()))
                 .assigneeName(task.getAssignee() != null ? formatUserName(task.getAssignee()) : null)
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
                 .dueDate(task.getDueDate())
+                .commentCount(task.getCommentCount())
+                .lastActivityAt(task.getLastActivityAt())
+                .version(task.getVersion())
                 .build();
     }
 
@@ -8,11 +8,16 @@ import com.dev.taskmanagement.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Сервис для управления пользователями в системе.
@@ -47,14 +52,17 @@ public class UserService {
      * Создает нового пользователя в системе.
      * При создании пользователя проверяется уникальность email,
      * пароль шифруется, и пользователю назначается роль ROLE_USER.
-     * После создания пользователя кэш очищается.
+     * После создания пользователя кэш пользователей и кэш principal для этого email очищаются.
      *
      * @param request Данные для регистрации пользователя
      * @return Созданный пользователь
      * @throws IllegalArgumentException если email уже занят
      */
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "users", allEntries = true),
+            @CacheEvict(value = "principals", key = "#request.email")
+    })
     public User createUser(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("Email is already taken");
@@ -69,6 +77,29 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Изменяет роль пользователя.
+     * После изменения кэш пользователей и кэш principal этого пользователя очищаются,
+     * чтобы новая роль применялась к следующему запросу.
+     *
+     * @param id ID пользователя
+     * @param role Новая роль
+     * @return Обновленный пользователь
+     * @throws ResourceNotFoundException если пользователь не найден
+     */
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "users", allEntries = true),
+            @CacheEvict(value = "principals", key = "#result.email")
+    })
+    public User changeRole(Long id, Role role) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        user.setRole(role);
+        log.debug("Role of user {} changed to {}", id, role);
+        return userRepository.save(user);
+    }
+
     /**
      * Получает пользователя по его ID.
      * Результат кэшируется для оптимизации производительности.
@@ -85,6 +116,22 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
     }
 
+    /**
+     * Получает пользователей по списку ID одним запросом.
+     * Используется пакетными операциями вместо поштучных вызовов {@link #getUserById}.
+     *
+     * @param ids ID пользователей
+     * @return Найденные пользователи по ID; отсутствующие ID в результат не попадают
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, User> getUsersByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
     /**
      * Получает список всех пользователей системы.
      * Метод не кэширует результаты, так как список может часто меняться.
@@ -7,6 +7,9 @@ import com.dev.taskmanagement.model.User;
 import com.dev.taskmanagement.service.UserService;
 import com.dev.taskmanagement.service.auth.JWTService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -14,6 +17,7 @@ import org.springframework.stereotype.Service;
 public class AuthService {
     private final JWTService jwtService;
     private final UserService userService;
+    private final AuthenticationManager authenticationManager;
     public AuthResponse register(RegisterRequest request) {
         User user = userService.createUser(request);
         String token = jwtService.generateToken(user);
@@ -28,7 +32,9 @@ public class AuthService {
     }
 
     public AuthResponse login(LoginRequest request) {
-        User user = userService.getUserByEmail(request.getEmail());
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        User user = (User) authentication.getPrincipal();
         String token = jwtService.generateToken(user);
         return AuthResponse.builder()
                 .token(token)
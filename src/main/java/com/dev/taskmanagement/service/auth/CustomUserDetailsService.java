@@ -1,14 +1,28 @@
 package com.dev.taskmanagement.service.auth;
 
 
+import com.dev.taskmanagement.model.User;
 import com.dev.taskmanagement.repository.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Загружает пользователя по email для аутентификации.
+ * Результат кэшируется в ограниченном по размеру и времени жизни кэше {@code principals},
+ * поэтому JwtAuthenticationFilter не обращается к БД на каждый запрос.
+ * Статистика попаданий/промахов публикуется в Micrometer как метрики {@code cache.gets}.
+ * Кэш инвалидируется в {@link com.dev.taskmanagement.service.UserService} при создании пользователя
+ * и изменении роли, а также здесь при перехешировании пароля.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -16,9 +30,32 @@ public class CustomUserDetailsService implements UserDetailsService {
         this.userRepository = userRepository;
     }
 
+    /**
+     * Загружает пользователя из основной БД (пишущая транзакция): только что зарегистрированного
+     * пользователя на реплике может еще не быть. Промахи кэшей редки, нагрузка на основную БД невелика.
+     */
     @Override
+    @Transactional
+    @Cacheable(value = "principals", key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
     }
+
+    /**
+     * Сохраняет пароль, перехешированный с текущей стоимостью BCrypt.
+     * Вызывается DaoAuthenticationProvider после успешного входа, если сохраненный хеш устарел.
+     */
+    @Override
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "users", allEntries = true),
+            @CacheEvict(value = "principals", key = "#user.username")
+    })
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        return userRepository.save(entity);
+    }
 }
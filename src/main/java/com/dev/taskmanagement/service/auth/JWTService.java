@@ -1,52 +1,118 @@
 package com.dev.taskmanagement.service.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.stereotype.Component;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Выпуск и проверка JWT.
+ * Ключ подписи и парсер создаются один раз и переиспользуются всеми потоками.
+ * Claims успешно проверенных токенов хранятся в небольшом LRU-кэше по SHA-256 дайджесту токена
+ * до истечения срока действия токена, поэтому повторные запросы с тем же токеном
+ * не выполняют проверку подписи заново.
+ */
 @Component
 public class JWTService {
+    private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24 часа
+    private static final int VERIFIED_TOKENS_CACHE_SIZE = 10_000;
+
+    //TODO key
+    private final Key signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode("pSFKIVO83YNCFKWcb9HqClroA5nPoR97U9ABVD55gVo="));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_TOKENS_CACHE_SIZE)
+            .expireAfter(new TokenExpiry())
+            .build();
+
     public String generateToken(UserDetails userDetails) {
-        //TODO time
-        long expirationTime = 1000 * 60 * 60 * 24; // 24 часа
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigenKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
-    public String extractUserName(String token){
-        return extractClaim(token,Claims::getSubject);
 
+    /**
+     * Проверяет подпись и срок действия токена и возвращает его claims.
+     * Токен разбирается один раз; результат переиспользуется до истечения срока действия.
+     *
+     * @param token JWT
+     * @return Claims проверенного токена
+     * @throws io.jsonwebtoken.ExpiredJwtException если срок действия токена истек
+     * @throws io.jsonwebtoken.JwtException если токен невалиден
+     */
+    public Claims validateToken(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
+    public String extractUserName(String token){
+        return validateToken(token).getSubject();
     }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String login = extractUserName(token);
-        return login.equals(userDetails.getUsername()) && !isTokenExpired(token); // Обратите внимание на "!"
+        return isTokenValid(validateToken(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token,Claims::getExpiration).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject()) && !isTokenExpired(claims);
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers) {
-        final Claims claims =  extractAllClaims(token);
-        return claimsResolvers.apply(claims);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigenKey()).build().parseClaimsJws(token).getBody();
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
-    private Key getSigenKey() {
-        //TODO key
-        byte[] key = Decoders.BASE64.decode("pSFKIVO83YNCFKWcb9HqClroA5nPoR97U9ABVD55gVo=");
-        return Keys.hmacShaKeyFor(key);
+
+    /**
+     * Удаляет проверенный токен из кэша в момент истечения его срока действия.
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long ttlMillis = claims.getExpiration() != null
+                    ? claims.getExpiration().getTime() - System.currentTimeMillis()
+                    : EXPIRATION_TIME;
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
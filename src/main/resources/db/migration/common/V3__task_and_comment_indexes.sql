@@ -0,0 +1,14 @@
+-- Индексы под запросы репозиториев.
+-- Составные индексы по author_id / assignee_id также обслуживают поиск задач пользователя
+-- и проверки внешних ключей при удалении пользователя.
+
+-- Keyset-пагинация и сортировка по умолчанию (ORDER BY created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at DESC, id DESC);
+
+-- Фильтры списка задач: равенство по ведущим колонкам, диапазон по due_date
+CREATE INDEX IF NOT EXISTS idx_tasks_author_status_due_date ON tasks (author_id, status, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_status_due_date ON tasks (assignee_id, status, due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_priority_due_date ON tasks (status, priority, due_date);
+
+-- Комментарии задачи в порядке создания
+CREATE INDEX IF NOT EXISTS idx_comments_task_id_created_at ON comments (task_id, created_at);
@@ -0,0 +1,5 @@
+-- Список задач пользователя (автор ИЛИ исполнитель) выполняется как UNION ALL двух ветвей.
+-- Каждая ветвь читает свой индекс уже в порядке сортировки по умолчанию и останавливается
+-- после offset + size строк, без сортировки всех задач пользователя.
+CREATE INDEX IF NOT EXISTS idx_tasks_author_created_at_id ON tasks (author_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_created_at_id ON tasks (assignee_id, created_at DESC, id DESC);
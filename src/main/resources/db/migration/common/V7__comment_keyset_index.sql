@@ -0,0 +1,4 @@
+-- Страницы комментариев задачи упорядочены по (created_at, id): ID в индексе
+-- позволяет читать keyset-страницы без досортировки комментариев с одинаковым временем.
+DROP INDEX IF EXISTS idx_comments_task_id_created_at;
+CREATE INDEX IF NOT EXISTS idx_comments_task_id_created_at_id ON comments (task_id, created_at, id);
@@ -0,0 +1,10 @@
+-- Денормализованные счетчик комментариев и время последней активности задачи
+-- для списка задач без обращения к таблице комментариев.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS last_activity_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+UPDATE tasks t SET
+    comment_count = (SELECT COUNT(*) FROM comments c WHERE c.task_id = t.id),
+    last_activity_at = COALESCE(
+        (SELECT GREATEST(MAX(c.updated_at), t.updated_at) FROM comments c WHERE c.task_id = t.id),
+        t.updated_at);
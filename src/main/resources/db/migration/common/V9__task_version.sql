@@ -0,0 +1,2 @@
+-- Версия строки задачи для оптимистичных блокировок (@Version) и ETag
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Перевод БД, созданной через ddl-auto с IDENTITY-колонками, на последовательности
+-- с пакетным выделением ID (allocationSize = 50, оптимизатор pooled-lo).
+-- На новой БД (схема из V1) ничего не меняет.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS tasks_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+-- pooled-lo использует значение последовательности как начало блока,
+-- поэтому следующее значение должно быть больше максимального существующего ID
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM users), false);
+SELECT setval('tasks_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM tasks), false);
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM comments), false);
+
+-- ID теперь назначает Hibernate, IDENTITY больше не нужен
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,31 @@
+package com.dev.taskmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+    private static final String SPEC = "maximumSize=10";
+
+    @Test
+    void shouldLeaveBlankOptionalCacheUnregistered() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(new CacheSpecProperties(Map.of(
+                "tasks", SPEC, "users", SPEC, "principals", SPEC, "taskPages", "")));
+
+        assertNotNull(cacheManager.getCache("tasks"));
+        assertNull(cacheManager.getCache("taskPages"));
+    }
+
+    @Test
+    void shouldRejectBlankOrMissingRequiredCache() {
+        CacheConfig config = new CacheConfig();
+
+        assertThrows(IllegalStateException.class, () -> config.cacheManager(new CacheSpecProperties(Map.of(
+                "tasks", "", "users", SPEC, "principals", SPEC))));
+        assertThrows(IllegalStateException.class, () -> config.cacheManager(new CacheSpecProperties(Map.of(
+                "tasks", SPEC, "principals", SPEC))));
+    }
+}
@@ -0,0 +1,160 @@
+package com.dev.taskmanagement.config;
+
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.TaskFilter;
+import com.dev.taskmanagement.dto.task.TaskRequest;
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.TaskPriority;
+import com.dev.taskmanagement.model.TaskStatus;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.TaskRepository;
+import com.dev.taskmanagement.repository.UserRepository;
+import com.dev.taskmanagement.service.TaskCacheKeys;
+import com.dev.taskmanagement.service.TaskService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Основная БД - H2 профиля test, реплика - отдельная H2 с той же схемой и тестовыми данными,
+ * в которую изменения не реплицируются: видна ли при чтении новая запись, показывает, откуда оно выполнено.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.hikari.maximum-pool-size=2",
+        "app.datasource.routing.read-your-writes-window=1m"
+})
+@ActiveProfiles("test")
+class ReadReplicaConfigTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private TransactionTemplate write;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setup() {
+        Flyway.configure()
+                .dataSource(replicaDataSource)
+                .locations("classpath:db/migration/common", "classpath:db/testdata")
+                .load()
+                .migrate();
+        write = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldSendReadOnlyTransactionsToReplicaAndWritesToPrimary() {
+        Task task = write.execute(status -> taskRepository.save(newTask()));
+
+        assertTrue(readOnly.execute(status -> taskRepository.findById(task.getId())).isEmpty());
+        assertTrue(write.execute(status -> taskRepository.findById(task.getId())).isPresent());
+        Long replicaUsers = readOnly.execute(status -> userRepository.count());
+        assertEquals(2L, replicaUsers);
+    }
+
+    @Test
+    void shouldReadOwnWritesFromPrimaryWithinWindow() {
+        authenticate(2L);
+        Task task = write.execute(status -> taskRepository.save(newTask()));
+
+        assertTrue(readOnly.execute(status -> taskRepository.findById(task.getId())).isPresent());
+
+        authenticate(1L);
+        assertTrue(readOnly.execute(status -> taskRepository.findById(task.getId())).isEmpty());
+    }
+
+    @Test
+    void shouldReadCacheMissesOfRecentlyChangedTasksFromPrimary() {
+        TaskResponse task = taskService.createTask(new TaskRequest("Replicated later", null, TaskStatus.PENDING,
+                TaskPriority.LOW, LocalDateTime.now().plusDays(1), null), 1L);
+        User admin = authenticate(1L);
+
+        TaskResponse response = taskService.getTaskById(task.getId(), admin);
+        PageResponse<TaskResponse> page = taskService.getAllTasks(0, 100, null, null, TaskFilter.none(), admin);
+
+        assertEquals(task.getTitle(), response.getTitle());
+        assertSame(response, tasksCache().get(task.getId(), TaskResponse.class));
+        assertTrue(page.getContent().stream().anyMatch(item -> item.getId().equals(task.getId())));
+        assertSame(page, taskService.getAllTasks(0, 100, null, null, TaskFilter.none(), admin));
+    }
+
+    @Test
+    void shouldReadCacheMissesOfUnchangedTasksFromReplica() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        String title = replica.queryForObject("SELECT title FROM tasks WHERE id = 1", String.class);
+        tasksCache().evict(1L);
+        replica.update("UPDATE tasks SET title = ? WHERE id = 1", "Replica title");
+        try {
+            assertEquals("Replica title", taskService.getTaskById(1L, authenticate(1L)).getTitle());
+        } finally {
+            replica.update("UPDATE tasks SET title = ? WHERE id = 1", title);
+            tasksCache().evict(1L);
+        }
+    }
+
+    private Cache tasksCache() {
+        return Objects.requireNonNull(cacheManager.getCache(TaskCacheKeys.TASKS_CACHE));
+    }
+
+    private User authenticate(Long userId) {
+        User user = readOnly.execute(status -> userRepository.findById(userId).orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        return user;
+    }
+
+    private Task newTask() {
+        Task task = new Task();
+        task.setTitle("Replicated later");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setAuthor(userRepository.getReferenceById(1L));
+        return task;
+    }
+}
@@ -1,11 +1,15 @@
 package com.dev.taskmanagement.controller;
 
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.TaskEventType;
 import com.dev.taskmanagement.dto.task.TaskRequest;
 import com.dev.taskmanagement.dto.task.TaskResponse;
 import com.dev.taskmanagement.model.Role;
 import com.dev.taskmanagement.model.TaskPriority;
 import com.dev.taskmanagement.model.TaskStatus;
 import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.service.TaskCacheKeys;
+import com.dev.taskmanagement.service.TaskEventStream;
 import com.dev.taskmanagement.service.TaskService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,19 +19,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -41,6 +59,12 @@ class TaskControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskEventStream taskEventStream;
+
     @MockBean
     private TaskService taskService;
 
@@ -112,4 +136,129 @@ class TaskControllerTest {
         mockMvc.perform(delete("/api/tasks/1"))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    void shouldAnswerServiceUnavailableWhenConnectionPoolIsExhausted() throws Exception {
+        Mockito.when(taskService.getTaskById(Mockito.eq(1L), Mockito.any(), Mockito.any()))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available, request timed out"));
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities());
+
+        mockMvc.perform(get("/api/tasks/1").with(authentication(auth)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutBuildingTaskWhenVersionMatches() throws Exception {
+        Mockito.when(taskService.getTaskVersion(Mockito.eq(1L), Mockito.any())).thenReturn(3L);
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities());
+
+        mockMvc.perform(get("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\"").with(authentication(auth)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        Mockito.verify(taskService, Mockito.never()).getTaskById(Mockito.any(), Mockito.any(), Mockito.any());
+
+        sampleTask.setVersion(4L);
+        Mockito.when(taskService.getTaskVersion(Mockito.eq(1L), Mockito.any())).thenReturn(4L);
+        Mockito.when(taskService.getTaskById(Mockito.eq(1L), Mockito.any(), Mockito.any())).thenReturn(sampleTask);
+        mockMvc.perform(get("/api/tasks/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\"").with(authentication(auth)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void shouldRejectUpdateWhenIfMatchIsStale() throws Exception {
+        Mockito.when(taskService.getTaskVersion(Mockito.eq(1L), Mockito.any())).thenReturn(5L);
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities());
+
+        mockMvc.perform(patch("/api/tasks/1/status").param("status", "COMPLETED")
+                        .header(HttpHeaders.IF_MATCH, "\"4\"")
+                        .with(authentication(auth)))
+                .andExpect(status().isPreconditionFailed());
+        Mockito.verify(taskService, Mockito.never())
+                .updateTaskStatus(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+
+        sampleTask.setVersion(6L);
+        Mockito.when(taskService.updateTaskStatus(Mockito.eq(1L), Mockito.eq("COMPLETED"), Mockito.eq(5L), Mockito.any()))
+                .thenReturn(sampleTask);
+        mockMvc.perform(patch("/api/tasks/1/status").param("status", "COMPLETED")
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .with(authentication(auth)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"6\""));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedTaskPage() throws Exception {
+        sampleTask.setVersion(2L);
+        PageResponse<TaskResponse> page = PageResponse.<TaskResponse>builder()
+                .content(List.of(sampleTask)).page(0).size(10).totalElements(1).totalPages(1).last(true)
+                .build();
+        Mockito.when(taskService.getAllTasks(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any())).thenReturn(page);
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities());
+
+        String etag = mockMvc.perform(get("/api/tasks").with(authentication(auth)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag).with(authentication(auth)))
+                .andExpect(status().isNotModified());
+
+        sampleTask.setVersion(3L);
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag).with(authentication(auth)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldServeTaskFromSerializedJsonCacheUntilVersionChanges() throws Exception {
+        cacheManager.getCache(TaskCacheKeys.TASK_JSON_CACHE).clear();
+        sampleTask.setVersion(7L);
+        Mockito.when(taskService.getTaskById(Mockito.eq(1L), Mockito.any(), Mockito.any())).thenReturn(sampleTask);
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities());
+
+        byte[] first = mockMvc.perform(get("/api/tasks/1").with(authentication(auth)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(objectMapper.writeValueAsBytes(sampleTask), first);
+
+        // Та же версия - ответ берется из кэша байтов, изменения объекта не сериализуются
+        sampleTask.setTitle("Renamed without version change");
+        mockMvc.perform(get("/api/tasks/1").with(authentication(auth)))
+                .andExpect(jsonPath("$.title").value("Test Task"));
+
+        sampleTask.setVersion(8L);
+        mockMvc.perform(get("/api/tasks/1").with(authentication(auth)))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+                .andExpect(jsonPath("$.title").value("Renamed without version change"));
+    }
+
+    @Test
+    void shouldStreamEventsOfTasksVisibleToUser() throws Exception {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(regularUser, null, regularUser.getAuthorities());
+        MvcResult result = mockMvc.perform(get("/api/tasks/stream").with(authentication(auth)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        taskEventStream.publish(TaskEventType.CREATED, 41L, List.of(adminUser.getId()));
+        taskEventStream.publish(TaskEventType.ASSIGNED, 42L, List.of(adminUser.getId(), regularUser.getId()));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.getResponse().getContentAsString().contains("\"taskId\":42") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        String body = result.getResponse().getContentAsString();
+        assertTrue(MediaType.TEXT_EVENT_STREAM.isCompatibleWith(MediaType.parseMediaType(result.getResponse().getContentType())));
+        assertTrue(body.contains("event:task"));
+        assertTrue(body.contains("\"type\":\"ASSIGNED\",\"taskId\":42"));
+        assertFalse(body.contains("\"taskId\":41"));
+    }
 }
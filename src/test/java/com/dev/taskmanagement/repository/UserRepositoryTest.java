@@ -0,0 +1,113 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldServeRepeatedFindByEmailFromNaturalIdCache() {
+        User user = saveUser();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        assertEquals(user.getId(), userRepository.findByEmail(user.getEmail()).orElseThrow().getId());
+        long statementsAfterMiss = statistics.getPrepareStatementCount();
+        assertTrue(statementsAfterMiss > 0);
+
+        User cached = userRepository.findByEmail(user.getEmail()).orElseThrow();
+
+        assertEquals(user.getEmail(), cached.getEmail());
+        assertEquals(statementsAfterMiss, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user").getHitCount());
+        assertTrue(userRepository.findByEmail("missing-" + user.getEmail()).isEmpty());
+    }
+
+    @Test
+    void shouldInitializeTaskAuthorFromSecondLevelCache() {
+        userRepository.findById(1L).orElseThrow();
+        statistics.clear();
+
+        String authorName = transactionTemplate.execute(status -> {
+            Task task = taskRepository.findById(1L).orElseThrow();
+            long statementsBefore = statistics.getPrepareStatementCount();
+            String firstName = task.getAuthor().getFirstName();
+            assertEquals(statementsBefore, statistics.getPrepareStatementCount());
+            return firstName;
+        });
+
+        assertNotNull(authorName);
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user").getHitCount());
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", "user")
+                .tag("result", "hit")
+                .functionCounter();
+        assertNotNull(hits);
+        assertEquals(1, hits.count());
+    }
+
+    @Test
+    void shouldRefreshCachedUserAfterUpdate() {
+        User user = saveUser();
+        userRepository.findByEmail(user.getEmail()).orElseThrow();
+
+        User loaded = userRepository.findById(user.getId()).orElseThrow();
+        loaded.setRole(Role.ROLE_ADMIN);
+        userRepository.save(loaded);
+
+        assertEquals(Role.ROLE_ADMIN, userRepository.findByEmail(user.getEmail()).orElseThrow().getRole());
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@mail.com");
+        user.setPassword("password");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRole(Role.ROLE_USER);
+        return userRepository.save(user);
+    }
+}
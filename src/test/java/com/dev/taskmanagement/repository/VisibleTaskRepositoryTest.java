@@ -0,0 +1,164 @@
+package com.dev.taskmanagement.repository;
+
+import com.dev.taskmanagement.dto.task.TaskCursor;
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.TaskPriority;
+import com.dev.taskmanagement.model.TaskStatus;
+import com.dev.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class VisibleTaskRepositoryTest {
+    private static final int FOREIGN_TASKS = 3000;
+    private static final int AUTHORED_TASKS = 60;
+    private static final int ASSIGNED_TASKS = 60;
+    private static final int SELF_ASSIGNED_TASKS = 20;
+    private static final Pattern INDEX_SCAN_COUNT = Pattern.compile("/\\* PUBLIC\\.\\w+: [^*]+\\*/\\s*/\\* scanCount: (\\d+)");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        user = saveUser();
+        User other = saveUser();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < FOREIGN_TASKS; i++) {
+            tasks.add(task(i, other, i % 2 == 0 ? other : null));
+        }
+        for (int i = 0; i < AUTHORED_TASKS; i++) {
+            tasks.add(task(i, user, other));
+        }
+        for (int i = 0; i < ASSIGNED_TASKS; i++) {
+            tasks.add(task(i, other, user));
+        }
+        for (int i = 0; i < SELF_ASSIGNED_TASKS; i++) {
+            tasks.add(task(i, user, user));
+        }
+        taskRepository.saveAll(tasks);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldReturnSamePagesAsAuthorOrAssigneeQuery() {
+        for (Sort.Order order : List.of(Sort.Order.desc("createdAt"), Sort.Order.asc("priority"))) {
+            Sort sort = Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+            List<Long> expected = entityManager.createQuery("""
+                            SELECT t.id FROM Task t
+                            WHERE t.author = :user OR t.assignee = :user
+                            ORDER BY t.%1$s %2$s, t.id %2$s
+                            """.formatted(order.getProperty(), order.getDirection()), Long.class)
+                    .setParameter("user", user)
+                    .getResultList();
+
+            List<Long> actual = new ArrayList<>();
+            for (int page = 0; ; page++) {
+                Page<Long> ids = taskRepository.findVisibleTaskIds(user.getId(), PageRequest.of(page, 25, sort));
+                assertEquals(AUTHORED_TASKS + ASSIGNED_TASKS + SELF_ASSIGNED_TASKS, ids.getTotalElements());
+                actual.addAll(ids.getContent());
+                if (!ids.hasNext()) {
+                    break;
+                }
+            }
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void shouldScrollVisibleTasksByCursorWithoutDuplicates() {
+        List<Long> expected = taskRepository.findVisibleTaskIds(user.getId(), PageRequest.of(0, 1000,
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"))).getContent();
+
+        List<TaskCursor> actual = new ArrayList<>(
+                taskRepository.findVisibleTaskPositionsCreatedBefore(user.getId(), null, null, 30));
+        while (actual.size() < expected.size()) {
+            TaskCursor last = actual.get(actual.size() - 1);
+            assertEquals(taskRepository.findById(last.id()).orElseThrow().getCreatedAt(), last.createdAt());
+            List<TaskCursor> next = taskRepository.findVisibleTaskPositionsCreatedBefore(
+                    user.getId(), last.createdAt(), last.id(), 30);
+            assertFalse(next.isEmpty());
+            actual.addAll(next);
+        }
+        assertEquals(expected, actual.stream().map(TaskCursor::id).toList());
+    }
+
+    /**
+     * Регрессия плана запроса: каждая ветвь UNION ALL читает только строки пользователя по индексу,
+     * без полного сканирования таблицы, поэтому стоимость не растет с общим числом задач.
+     */
+    @Test
+    void shouldReadOnlyUserRowsThroughIndexes() {
+        String sql = VisibleTaskRepositoryImpl.visibleTaskIdsSql("",
+                VisibleTaskRepositoryImpl.orderBy(Sort.by(Sort.Direction.DESC, "createdAt")), 40);
+        String plan = entityManager.createNativeQuery("EXPLAIN ANALYZE " + sql)
+                .setParameter("userId", user.getId())
+                .setParameter("limit", 20)
+                .setParameter("offset", 20)
+                .getSingleResult()
+                .toString();
+
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.contains("IDX_TASKS_AUTHOR_CREATED_AT_ID: AUTHOR_ID = ?"), plan);
+        assertTrue(plan.matches("(?s).*/\\* PUBLIC\\.\\w+: ASSIGNEE_ID = \\?\\d+ \\*/.*"), plan);
+        assertFalse(plan.contains("DISTINCT"), plan);
+
+        long scanned = 0;
+        Matcher scanCount = INDEX_SCAN_COUNT.matcher(plan);
+        while (scanCount.find()) {
+            scanned += Long.parseLong(scanCount.group(1));
+        }
+        // Ветви читают по индексу только задачи пользователя (+1 на признак конца диапазона в каждой ветви)
+        assertTrue(scanned <= AUTHORED_TASKS + SELF_ASSIGNED_TASKS + ASSIGNED_TASKS + SELF_ASSIGNED_TASKS + 2, plan);
+    }
+
+    private Task task(int i, User author, User assignee) {
+        Task task = new Task();
+        task.setTitle("Task " + i);
+        task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+        task.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+        task.setDueDate(LocalDateTime.now().plusHours(i));
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        return task;
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@mail.com");
+        user.setPassword("password");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRole(Role.ROLE_USER);
+        return userRepository.save(user);
+    }
+}
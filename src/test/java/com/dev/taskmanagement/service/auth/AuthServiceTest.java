@@ -0,0 +1,40 @@
+package com.dev.taskmanagement.service.auth;
+
+import com.dev.taskmanagement.dto.auth.AuthResponse;
+import com.dev.taskmanagement.dto.auth.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Test
+    void shouldLoginWithValidPassword() {
+        AuthResponse response = authService.login(loginRequest("user@mail.com", "userpass"));
+
+        assertEquals(2L, response.getUserId());
+        assertNotNull(response.getToken());
+    }
+
+    @Test
+    void shouldRejectInvalidPassword() {
+        assertThrows(BadCredentialsException.class,
+                () -> authService.login(loginRequest("user@mail.com", "wrong")));
+    }
+
+    private LoginRequest loginRequest(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
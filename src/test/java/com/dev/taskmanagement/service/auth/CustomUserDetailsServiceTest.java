@@ -0,0 +1,57 @@
+package com.dev.taskmanagement.service.auth;
+
+import com.dev.taskmanagement.dto.auth.RegisterRequest;
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomUserDetailsServiceTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void shouldServeRepeatedLookupsFromPrincipalCache() {
+        UserDetails first = userDetailsService.loadUserByUsername("admin@mail.com");
+        UserDetails second = userDetailsService.loadUserByUsername("admin@mail.com");
+
+        assertSame(first, second);
+        assertNotNull(cacheManager.getCache("principals").get("admin@mail.com"));
+    }
+
+    @Test
+    void shouldEvictPrincipalWhenRoleChanges() {
+        User user = userService.createUser(RegisterRequest.builder()
+                .email("promoted@mail.com")
+                .password("password")
+                .firstName("Promoted")
+                .lastName("User")
+                .build());
+        assertEquals("ROLE_USER", authorityOf(userDetailsService.loadUserByUsername("promoted@mail.com")));
+
+        userService.changeRole(user.getId(), Role.ROLE_ADMIN);
+
+        assertNull(cacheManager.getCache("principals").get("promoted@mail.com"));
+        assertEquals("ROLE_ADMIN", authorityOf(userDetailsService.loadUserByUsername("promoted@mail.com")));
+    }
+
+    private String authorityOf(UserDetails userDetails) {
+        return userDetails.getAuthorities().iterator().next().getAuthority();
+    }
+}
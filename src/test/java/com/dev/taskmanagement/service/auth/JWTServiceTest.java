@@ -0,0 +1,35 @@
+package com.dev.taskmanagement.service.auth;
+
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTServiceTest {
+
+    private final JWTService jwtService = new JWTService();
+    private final User user = new User(2, "user@mail.com", "userpass", "Test", "User", Role.ROLE_USER);
+
+    @Test
+    void shouldValidateTokenOnceAndReuseClaims() {
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.validateToken(token);
+        Claims second = jwtService.validateToken(token);
+
+        assertSame(first, second);
+        assertEquals("user@mail.com", jwtService.extractUserName(token));
+        assertTrue(jwtService.isTokenValid(first, user));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.validateToken(tampered));
+    }
+}
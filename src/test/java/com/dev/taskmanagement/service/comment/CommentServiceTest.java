@@ -0,0 +1,164 @@
+package com.dev.taskmanagement.service.comment;
+
+import com.dev.taskmanagement.dto.CursorPageResponse;
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.comment.CommentRequest;
+import com.dev.taskmanagement.dto.comment.CommentResponse;
+import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.exception.ResourceNotFoundException;
+import com.dev.taskmanagement.model.Comment;
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.Task;
+import com.dev.taskmanagement.model.TaskPriority;
+import com.dev.taskmanagement.model.TaskStatus;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.CommentRepository;
+import com.dev.taskmanagement.repository.TaskRepository;
+import com.dev.taskmanagement.repository.UserRepository;
+import com.dev.taskmanagement.service.CommentService;
+import com.dev.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CommentServiceTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+    private Task task;
+    private List<Long> commentIds;
+
+    @BeforeEach
+    void setup() {
+        author = saveUser();
+        task = new Task();
+        task.setTitle("Commented task");
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setAuthor(author);
+        taskRepository.save(task);
+
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + i);
+            comment.setTask(task);
+            comment.setAuthor(i % 2 == 0 ? author : saveUser());
+            comments.add(comment);
+        }
+        commentIds = commentRepository.saveAll(comments).stream().map(Comment::getId).toList();
+    }
+
+    @Test
+    void shouldLoadCommentPageWithAuthorsInConstantNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageResponse<CommentResponse> page = commentService.getComments(task.getId(), 1, 10);
+
+        assertEquals(25, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        assertEquals(commentIds.subList(10, 20), page.getContent().stream().map(CommentResponse::getId).toList());
+        CommentResponse first = page.getContent().get(0);
+        assertEquals(task.getId(), first.getTaskId());
+        assertEquals(author.getEmail(), first.getAuthorEmail());
+        assertEquals("First Last", first.getAuthorName());
+        // Проверка задачи, страница комментариев с авторами и COUNT
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldScrollCommentsByCursorWithoutDuplicates() {
+        List<Long> scrolled = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<CommentResponse> page = commentService.getCommentsByCursor(task.getId(), cursor, 7);
+            page.getContent().forEach(comment -> scrolled.add(comment.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(commentIds, scrolled);
+    }
+
+    @Test
+    void shouldReturnCreatedCommentWithAuthorAndRejectUnknownTask() {
+        CommentResponse created = commentService.addComment(task.getId(), new CommentRequest("Latest"), author);
+
+        assertEquals(author.getId(), created.getAuthorId());
+        assertEquals(author.getEmail(), created.getAuthorEmail());
+        assertEquals(task.getId(), created.getTaskId());
+        assertThrows(ResourceNotFoundException.class, () -> commentService.getComments(-1L, 0, 10));
+    }
+
+    @Test
+    void shouldMaintainCommentCountAndLastActivityWithoutLoadingComments() {
+        Task stale = taskRepository.findById(task.getId()).orElseThrow();
+        LocalDateTime activityBefore = stale.getLastActivityAt();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CommentResponse created = commentService.addComment(task.getId(), new CommentRequest("Counted"), author);
+
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        TaskResponse afterAdd = taskService.getTaskById(task.getId(), author);
+        assertEquals(1, afterAdd.getCommentCount());
+        assertFalse(afterAdd.getLastActivityAt().isBefore(activityBefore));
+
+        // Комментарий увеличил версию - сохранение ранее загруженной задачи отклоняется
+        stale.setTitle("Renamed");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskRepository.save(stale));
+        // Сохранение актуальной задачи не перезаписывает счетчик
+        Task fresh = taskRepository.findById(task.getId()).orElseThrow();
+        fresh.setTitle("Renamed");
+        taskRepository.save(fresh);
+        commentService.deleteComment(created.getId());
+
+        TaskResponse afterDelete = taskService.getTaskById(task.getId(), author);
+        assertEquals(0, afterDelete.getCommentCount());
+        assertEquals("Renamed", afterDelete.getTitle());
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@mail.com");
+        user.setPassword("password");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRole(Role.ROLE_USER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,192 @@
+package com.dev.taskmanagement.service.task;
+
+import com.dev.taskmanagement.dto.task.TaskEvent;
+import com.dev.taskmanagement.dto.task.TaskEventType;
+import com.dev.taskmanagement.exception.ServiceOverloadedException;
+import com.dev.taskmanagement.model.Role;
+import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.service.TaskEventStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventStreamTest {
+    private static final String RESYNC = "resync";
+
+    private final User admin = new User(1, "admin@mail.com", "adminpass", "Admin", "User", Role.ROLE_ADMIN);
+    private final User author = new User(2, "author@mail.com", "pass", "Task", "Author", Role.ROLE_USER);
+    private final User stranger = new User(3, "stranger@mail.com", "pass", "Other", "User", Role.ROLE_USER);
+
+    private TaskEventStream stream;
+
+    @AfterEach
+    void cleanup() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Test
+    void shouldDeliverEventsToTaskUsersAndAdminsOnly() throws Exception {
+        stream = newStream(16, 5);
+        RecordingEmitter adminEmitter = (RecordingEmitter) stream.subscribe(admin);
+        RecordingEmitter authorEmitter = (RecordingEmitter) stream.subscribe(author);
+        RecordingEmitter strangerEmitter = (RecordingEmitter) stream.subscribe(stranger);
+
+        stream.publish(TaskEventType.UPDATED, 10L, Arrays.asList(author.getId(), null));
+        stream.publish(TaskEventType.CREATED, 11L, List.of(stranger.getId()));
+
+        assertEquals(List.of(taskEvent(TaskEventType.UPDATED, 10L), taskEvent(TaskEventType.CREATED, 11L)),
+                adminEmitter.await(2));
+        assertEquals(List.of(taskEvent(TaskEventType.UPDATED, 10L)), authorEmitter.await(1));
+        assertEquals(List.of(taskEvent(TaskEventType.CREATED, 11L)), strangerEmitter.await(1));
+    }
+
+    @Test
+    void shouldCoalescePendingEventsOfSameTaskForSlowClient() throws Exception {
+        stream = newStream(16, 5);
+        RecordingEmitter emitter = (RecordingEmitter) stream.subscribe(author);
+        emitter.blockFirstSend();
+
+        stream.publish(TaskEventType.CREATED, 1L, List.of(author.getId()));
+        emitter.awaitFirstSend();
+        stream.publish(TaskEventType.UPDATED, 2L, List.of(author.getId()));
+        stream.publish(TaskEventType.UPDATED, 3L, List.of(author.getId()));
+        stream.publish(TaskEventType.STATUS_CHANGED, 2L, List.of(author.getId()));
+        emitter.release();
+
+        assertEquals(List.of(
+                taskEvent(TaskEventType.CREATED, 1L),
+                taskEvent(TaskEventType.UPDATED, 3L),
+                taskEvent(TaskEventType.STATUS_CHANGED, 2L)), emitter.await(3));
+    }
+
+    @Test
+    void shouldReplaceOverflowingBufferWithResync() throws Exception {
+        stream = newStream(2, 5);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        stream.bindTo(registry);
+        RecordingEmitter emitter = (RecordingEmitter) stream.subscribe(author);
+        emitter.blockFirstSend();
+
+        stream.publish(TaskEventType.CREATED, 1L, List.of(author.getId()));
+        emitter.awaitFirstSend();
+        stream.publish(TaskEventType.CREATED, 2L, List.of(author.getId()));
+        stream.publish(TaskEventType.CREATED, 3L, List.of(author.getId()));
+        stream.publish(TaskEventType.CREATED, 4L, List.of(author.getId()));
+        stream.publish(TaskEventType.CREATED, 5L, List.of(author.getId()));
+        emitter.release();
+        emitter.await(2);
+        stream.publish(TaskEventType.COMMENTED, 6L, List.of(author.getId()));
+
+        assertEquals(List.of(taskEvent(TaskEventType.CREATED, 1L), RESYNC, taskEvent(TaskEventType.COMMENTED, 6L)),
+                emitter.await(3));
+        assertEquals(1, registry.get("task.stream.resyncs").functionCounter().count());
+        assertEquals(1, registry.get("task.stream.connections").gauge().value());
+    }
+
+    @Test
+    void shouldPublishOnlyAfterCommit() throws Exception {
+        stream = newStream(16, 5);
+        RecordingEmitter emitter = (RecordingEmitter) stream.subscribe(author);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stream.publish(TaskEventType.ASSIGNED, 7L, List.of(author.getId()));
+            stream.publish(TaskEventType.COMMENTED, 8L, List.of(author.getId()));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            assertTrue(emitter.received.isEmpty());
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(taskEvent(TaskEventType.ASSIGNED, 7L), taskEvent(TaskEventType.COMMENTED, 8L)), emitter.await(2));
+    }
+
+    @Test
+    void shouldLimitConnectionsPerUser() {
+        stream = newStream(16, 1);
+        assertNotNull(stream.subscribe(author));
+
+        assertThrows(ServiceOverloadedException.class, () -> stream.subscribe(author));
+        assertNotNull(stream.subscribe(stranger));
+    }
+
+    private TaskEventStream newStream(int bufferSize, int maxConnectionsPerUser) {
+        return new TaskEventStream(bufferSize, maxConnectionsPerUser, Duration.ofMinutes(1), Duration.ofHours(1)) {
+            @Override
+            protected SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    private static Object taskEvent(TaskEventType type, Long taskId) {
+        return type + ":" + taskId;
+    }
+
+    /**
+     * Запоминает отправленные события ("тип:ID задачи" или resync); первая отправка может ждать
+     * разрешения теста - так клиент становится медленным, пока в буфер приходят новые события.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Object> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstSendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            firstSendStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof TaskEvent event) {
+                    received.add(taskEvent(event.type(), event.taskId()));
+                } else if (part.getData().toString().contains("event:" + RESYNC)) {
+                    received.add(RESYNC);
+                }
+            });
+        }
+
+        void blockFirstSend() {
+            release = new CountDownLatch(1);
+        }
+
+        void awaitFirstSend() throws InterruptedException {
+            assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            release.countDown();
+        }
+
+        List<Object> await(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            return List.copyOf(received);
+        }
+    }
+}
@@ -1,23 +1,55 @@
 package com.dev.taskmanagement.service.task;
 
+import com.dev.taskmanagement.dto.CursorPageResponse;
+import com.dev.taskmanagement.dto.PageResponse;
+import com.dev.taskmanagement.dto.task.BulkTaskResponse;
+import com.dev.taskmanagement.dto.task.TaskExportFormat;
 import com.dev.taskmanagement.dto.task.TaskRequest;
+import com.dev.taskmanagement.dto.task.TaskFilter;
 import com.dev.taskmanagement.dto.task.TaskResponse;
+import com.dev.taskmanagement.dto.task.TaskStatusChange;
+import com.dev.taskmanagement.dto.task.TaskUpdate;
+import com.dev.taskmanagement.exception.PreconditionFailedException;
 import com.dev.taskmanagement.exception.ResourceNotFoundException;
+import com.dev.taskmanagement.model.Comment;
+import com.dev.taskmanagement.model.Role;
 import com.dev.taskmanagement.model.Task;
 import com.dev.taskmanagement.model.TaskPriority;
 import com.dev.taskmanagement.model.TaskStatus;
 import com.dev.taskmanagement.model.User;
+import com.dev.taskmanagement.repository.CommentRepository;
 import com.dev.taskmanagement.repository.TaskRepository;
 import com.dev.taskmanagement.repository.UserRepository;
+import com.dev.taskmanagement.service.TaskCacheInvalidator;
+import com.dev.taskmanagement.service.TaskCacheKeys;
+import com.dev.taskmanagement.service.TaskExportService;
 import com.dev.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,8 +63,24 @@ class TaskServiceTest {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
+    @SpyBean
     TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TaskCacheInvalidator taskCacheInvalidator;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
     private User adminUser;
     private User regularUser;
     private Task testTask;
@@ -66,6 +114,66 @@ class TaskServiceTest {
         assertEquals(regularUser.getId(), response.getAuthorId());
     }
 
+    @Test
+    void shouldEvictOnlyAffectedTaskPagesOnCreate() {
+        User author = saveUser();
+        User assignee = saveUser();
+        User bystander = saveUser();
+        taskService.getTaskById(testTask.getId(), adminUser);
+        taskService.getAllTasks(0, 5, "createdAt", "DESC", TaskFilter.none(), adminUser);
+        taskService.getAllTasks(0, 5, "createdAt", "DESC", TaskFilter.none(), author);
+        taskService.getAllTasks(0, 5, "createdAt", "DESC", TaskFilter.none(), assignee);
+        taskService.getAllTasks(0, 5, "createdAt", "DESC", TaskFilter.none(), bystander);
+
+        TaskRequest request = new TaskRequest(
+                "Assigned Task",
+                "Task Description",
+                TaskStatus.PENDING,
+                TaskPriority.LOW,
+                LocalDateTime.now().plusDays(5),
+                assignee.getId());
+        taskService.createTask(request, author.getId());
+
+        Cache pages = cacheManager.getCache(TaskCacheKeys.TASK_PAGES_CACHE);
+        assertNull(pages.get(taskCacheInvalidator.pageKey(adminUser, 0, 5, "createdAt", "DESC", TaskFilter.none())));
+        assertNull(pages.get(taskCacheInvalidator.pageKey(author, 0, 5, "createdAt", "DESC", TaskFilter.none())));
+        assertNull(pages.get(taskCacheInvalidator.pageKey(assignee, 0, 5, "createdAt", "DESC", TaskFilter.none())));
+        assertNotNull(pages.get(taskCacheInvalidator.pageKey(bystander, 0, 5, "createdAt", "DESC", TaskFilter.none())));
+        assertNotNull(cacheManager.getCache(TaskCacheKeys.TASKS_CACHE).get(testTask.getId()));
+    }
+
+    @Test
+    void shouldIgnorePageCachedByReaderThatQueriedBeforeInvalidation() {
+        User author = saveUser();
+        // Читатель вычислил ключ и выполнил запрос до коммита, а положил результат в кэш после инвалидации
+        String staleKey = taskCacheInvalidator.pageKey(author, 0, 5, "createdAt", "DESC", TaskFilter.none());
+        taskCacheInvalidator.evictPages(List.of(), List.of(author.getId()));
+        PageResponse<TaskResponse> stale = PageResponse.empty(0, 5);
+        cacheManager.getCache(TaskCacheKeys.TASK_PAGES_CACHE).put(staleKey, stale);
+
+        PageResponse<TaskResponse> response = taskService.getAllTasks(0, 5, "createdAt", "DESC", TaskFilter.none(), author);
+
+        assertNotSame(stale, response);
+        assertNotEquals(staleKey, taskCacheInvalidator.pageKey(author, 0, 5, "createdAt", "DESC", TaskFilter.none()));
+    }
+
+    @Test
+    void shouldCachePageUnderNormalizedSizeAndDirection() {
+        PageResponse<TaskResponse> first = taskService.getAllTasks(0, 100, "createdAt", "asc", TaskFilter.none(), adminUser);
+
+        assertSame(first, taskService.getAllTasks(0, 10000, "createdAt", "ASC", TaskFilter.none(), adminUser));
+        assertEquals(taskCacheInvalidator.pageKey(adminUser, 0, 101, null, null, TaskFilter.none()),
+                taskCacheInvalidator.pageKey(adminUser, 0, 100, "createdAt", "desc", TaskFilter.none()));
+    }
+
+    @Test
+    void shouldCheckAccessOnCachedTask() {
+        taskService.getTaskById(testTask.getId(), adminUser);
+        assertNotNull(cacheManager.getCache(TaskCacheKeys.TASKS_CACHE).get(testTask.getId()));
+
+        assertThrows(SecurityException.class, () -> taskService.getTaskById(testTask.getId(), regularUser));
+    }
+
     @Test
     void shouldAllowAdminToDeleteTask() {
         taskService.deleteTask(testTask.getId(), adminUser);
@@ -79,30 +187,384 @@ class TaskServiceTest {
 
     @Test
     void shouldAllowUserToSeeOnlyTheirTasks() {
-        List<TaskResponse> tasks = taskService.getAllTasks(0, 10, regularUser);
+        List<TaskResponse> tasks = taskService.getAllTasks(0, 10, "createdAt", "DESC", TaskFilter.none(), regularUser).getContent();
         assertEquals(3, tasks.size()); // Потому что у regularUser нет задач
     }
 
+    @Test
+    void shouldReturnPageMetadataForAdmin() {
+        PageResponse<TaskResponse> page = taskService.getAllTasks(0, 1, "id", "ASC", TaskFilter.none(), adminUser);
+        assertEquals(1, page.getContent().size());
+        assertEquals(page.getTotalElements(), page.getTotalPages());
+        assertTrue(page.getTotalElements() >= 3);
+    }
+
+    @Test
+    void shouldRejectUnsupportedSortField() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getAllTasks(0, 10, "password", "ASC", TaskFilter.none(), adminUser));
+    }
+
+    @Test
+    void shouldScrollAllTasksByCursorWithoutDuplicates() {
+        CursorPageResponse<TaskResponse> firstPage = taskService.getTasksByCursor(null, 2, adminUser);
+        assertTrue(firstPage.isHasNext());
+        assertNotNull(firstPage.getNextCursor());
+
+        Set<Long> seen = new HashSet<>();
+        firstPage.getContent().forEach(task -> assertTrue(seen.add(task.getId())));
+        String cursor = firstPage.getNextCursor();
+        while (cursor != null) {
+            CursorPageResponse<TaskResponse> page = taskService.getTasksByCursor(cursor, 2, adminUser);
+            page.getContent().forEach(task -> assertTrue(seen.add(task.getId())));
+            cursor = page.getNextCursor();
+        }
+        assertEquals(taskRepository.count(), seen.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepScrollingWhenTaskIsDeletedBetweenIdAndTaskQueries() {
+        User author = saveUser();
+        saveTask(author, null);
+        saveTask(author, null);
+        saveTask(author, null);
+        Answer<?> repository = Mockito.mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        // Последняя задача первой страницы удалена после чтения её позиции
+        Mockito.doAnswer(invocation -> {
+                    List<Long> ids = new ArrayList<>(invocation.<List<Long>>getArgument(0));
+                    return ((List<Task>) repository.answer(invocation)).stream()
+                            .filter(task -> !task.getId().equals(ids.get(1)))
+                            .toList();
+                })
+                .doAnswer(repository)
+                .when(taskRepository).findAllWithUsersByIdIn(Mockito.anyCollection());
+
+        CursorPageResponse<TaskResponse> firstPage = taskService.getTasksByCursor(null, 2, author);
+        assertEquals(1, firstPage.getContent().size());
+        assertTrue(firstPage.isHasNext());
+
+        CursorPageResponse<TaskResponse> secondPage = taskService.getTasksByCursor(firstPage.getNextCursor(), 2, author);
+        assertEquals(1, secondPage.getContent().size());
+        assertFalse(secondPage.isHasNext());
+        assertNotEquals(firstPage.getContent().get(0).getId(), secondPage.getContent().get(0).getId());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.getTasksByCursor("not-a-cursor", 10, adminUser));
+    }
+
+    @Test
+    void shouldLoadTaskPagesWithConstantNumberOfStatements() {
+        for (int i = 0; i < 10; i++) {
+            saveTask(saveUser(), saveUser());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        taskService.getAllTasks(0, 2, "id", "DESC", TaskFilter.none(), adminUser);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        taskService.getAllTasks(0, 10, "id", "DESC", TaskFilter.none(), adminUser);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        taskService.getTasksByCursor(null, 10, adminUser);
+        long cursorPageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(1, cursorPageStatements);
+    }
+
+    @Test
+    void shouldResolveTaskAccessOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            assertTrue(taskService.isTaskAccessible(testTask.getId(), adminUser));
+            assertFalse(taskService.isTaskAccessible(testTask.getId(), regularUser));
+            assertFalse(taskService.isTaskEditableByUser(testTask.getId(), regularUser));
+
+            assertEquals(1, statistics.getPrepareStatementCount());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     void shouldAllowAdminToUpdateTaskStatus() {
-        TaskResponse response = taskService.updateTaskStatus(testTask.getId(), "COMPLETED", adminUser);
+        TaskResponse response = taskService.updateTaskStatus(testTask.getId(), "COMPLETED", null, adminUser);
         assertEquals(TaskStatus.COMPLETED, response.getStatus());
     }
 
     @Test
     void shouldNotAllowUserToUpdateTaskStatus() {
-        assertThrows(SecurityException.class, () -> taskService.updateTaskStatus(testTask.getId(), "COMPLETED", regularUser));
+        assertThrows(SecurityException.class, () -> taskService.updateTaskStatus(testTask.getId(), "COMPLETED", null, regularUser));
+    }
+
+    @Test
+    void shouldCreateTasksInBulkAndReportInvalidItems() {
+        User author = saveUser();
+        User assignee = saveUser();
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(3);
+        List<TaskRequest> requests = List.of(
+                new TaskRequest("Bulk 1", null, TaskStatus.PENDING, TaskPriority.LOW, dueDate, assignee.getId()),
+                new TaskRequest("Bulk 2", null, TaskStatus.PENDING, TaskPriority.LOW, dueDate, -1L),
+                new TaskRequest("Bulk 3", null, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, dueDate, null));
+
+        BulkTaskResponse response = taskService.createTasks(requests, author.getId());
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals(1, response.getFailed());
+        assertEquals(assignee.getId(), response.getResults().get(0).getTask().getAssigneeId());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("User not found with id: -1", response.getResults().get(1).getError());
+        assertEquals("Bulk 3", response.getResults().get(2).getTask().getTitle());
+        assertEquals(2, taskService.getAllTasks(0, 10, "createdAt", "DESC", TaskFilter.none(), author).getTotalElements());
+    }
+
+    @Test
+    void shouldReplaceCachedTaskOlderThanKnownVersion() {
+        Cache cache = cacheManager.getCache(TaskCacheKeys.TASKS_CACHE);
+        TaskResponse stale = taskService.getTaskById(testTask.getId(), adminUser);
+        taskService.updateTaskStatus(testTask.getId(), "COMPLETED", null, adminUser);
+        // Читатель, загрузивший задачу до коммита, вернул её в кэш после инвалидации
+        cache.put(testTask.getId(), stale);
+
+        long version = taskService.getTaskVersion(testTask.getId(), adminUser);
+        TaskResponse response = taskService.getTaskById(testTask.getId(), version, adminUser);
+
+        assertEquals(version, response.getVersion());
+        assertEquals(TaskStatus.COMPLETED, response.getStatus());
+        assertSame(response, cache.get(testTask.getId(), TaskResponse.class));
+    }
+
+    @Test
+    void shouldUpdateTaskStatusesInBulk() {
+        Task other = saveTask(saveUser(), null);
+        taskService.getTaskById(testTask.getId(), adminUser);
+
+        BulkTaskResponse response = taskService.updateTaskStatuses(List.of(
+                new TaskStatusChange(testTask.getId(), TaskStatus.COMPLETED),
+                new TaskStatusChange(-1L, TaskStatus.COMPLETED),
+                new TaskStatusChange(other.getId(), TaskStatus.IN_PROGRESS)), adminUser);
+
+        assertEquals(2, response.getSucceeded());
+        assertEquals("Task not found", response.getResults().get(1).getError());
+        assertNull(cacheManager.getCache(TaskCacheKeys.TASKS_CACHE).get(testTask.getId()));
+        assertEquals(TaskStatus.COMPLETED, taskService.getTaskById(testTask.getId(), adminUser).getStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(other.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldRejectRepeatedTaskInBulkStatusUpdate() {
+        BulkTaskResponse response = taskService.updateTaskStatuses(List.of(
+                new TaskStatusChange(testTask.getId(), TaskStatus.IN_PROGRESS),
+                new TaskStatusChange(testTask.getId(), TaskStatus.CANCELLED)), adminUser);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals("Duplicate task ID in batch", response.getResults().get(1).getError());
+        assertEquals(TaskStatus.IN_PROGRESS, taskRepository.findById(testTask.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldUpdateTasksInBulkWithSingleTaskRules() {
+        User assignee = saveUser();
+        Task assigned = saveTask(adminUser, assignee);
+        LocalDateTime dueDate = LocalDateTime.now().plusDays(10);
+        taskService.getTaskById(testTask.getId(), adminUser);
+
+        BulkTaskResponse asAdmin = taskService.updateTasks(List.of(
+                new TaskUpdate(testTask.getId(), new TaskRequest("Renamed", "New description",
+                        TaskStatus.IN_PROGRESS, TaskPriority.HIGH, dueDate, null)),
+                new TaskUpdate(-1L, new TaskRequest("Missing", null, TaskStatus.PENDING, TaskPriority.LOW, dueDate, null))),
+                adminUser);
+
+        assertEquals(1, asAdmin.getSucceeded());
+        assertEquals("Task not found", asAdmin.getResults().get(1).getError());
+        assertNull(cacheManager.getCache(TaskCacheKeys.TASKS_CACHE).get(testTask.getId()));
+        TaskResponse renamed = taskService.getTaskById(testTask.getId(), adminUser);
+        assertEquals("Renamed", renamed.getTitle());
+        assertEquals(TaskPriority.HIGH, renamed.getPriority());
+
+        BulkTaskResponse asAssignee = taskService.updateTasks(List.of(
+                new TaskUpdate(assigned.getId(), new TaskRequest("Ignored", null,
+                        TaskStatus.COMPLETED, TaskPriority.HIGH, dueDate, null)),
+                new TaskUpdate(testTask.getId(), new TaskRequest("Denied", null,
+                        TaskStatus.COMPLETED, TaskPriority.LOW, dueDate, null))), assignee);
+
+        assertEquals(1, asAssignee.getSucceeded());
+        assertEquals("You do not have permission to modify this task", asAssignee.getResults().get(1).getError());
+        Task completed = taskRepository.findById(assigned.getId()).orElseThrow();
+        assertEquals(TaskStatus.COMPLETED, completed.getStatus());
+        assertEquals(assigned.getTitle(), completed.getTitle());
+    }
+
+    @Test
+    void shouldIncrementVersionAndRejectStaleExpectedVersion() {
+        long version = taskService.getTaskVersion(testTask.getId(), adminUser);
+
+        TaskResponse updated = taskService.updateTaskStatus(testTask.getId(), "IN_PROGRESS", version, adminUser);
+
+        assertEquals(version + 1, updated.getVersion());
+        assertEquals(version + 1, taskService.getTaskVersion(testTask.getId(), adminUser));
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTaskStatus(testTask.getId(), "COMPLETED", version, adminUser));
+        assertEquals(TaskStatus.IN_PROGRESS, taskService.getTaskById(testTask.getId(), adminUser).getStatus());
+    }
+
+    @Test
+    void shouldPersistCancelledStatusAllowedBySchemaConstraint() {
+        BulkTaskResponse response = taskService.updateTaskStatuses(List.of(
+                new TaskStatusChange(testTask.getId(), TaskStatus.CANCELLED)), adminUser);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals(TaskStatus.CANCELLED, taskRepository.findById(testTask.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldRejectBulkStatusChangesOfForeignTasks() {
+        User assignee = saveUser();
+        Task assigned = saveTask(adminUser, assignee);
+
+        BulkTaskResponse response = taskService.updateTaskStatuses(List.of(
+                new TaskStatusChange(assigned.getId(), TaskStatus.COMPLETED),
+                new TaskStatusChange(testTask.getId(), TaskStatus.COMPLETED)), assignee);
+
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("You do not have permission to modify this task", response.getResults().get(1).getError());
+        assertEquals(TaskStatus.PENDING, taskRepository.findById(testTask.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldFilterTasksInDatabaseWithinVisibleTasks() {
+        User assignee = saveUser();
+        Task overdue = saveTask(adminUser, assignee);
+        overdue.setPriority(TaskPriority.HIGH);
+        overdue.setDueDate(LocalDateTime.now().minusDays(1));
+        taskRepository.save(overdue);
+        Task lowPriority = saveTask(adminUser, assignee);
+        lowPriority.setDueDate(LocalDateTime.now().minusDays(1));
+        taskRepository.save(lowPriority);
+        saveTask(adminUser, assignee);
+        Task foreign = saveTask(saveUser(), null);
+        foreign.setPriority(TaskPriority.HIGH);
+        foreign.setDueDate(LocalDateTime.now().minusDays(1));
+        taskRepository.save(foreign);
+
+        TaskFilter filter = TaskFilter.builder()
+                .status(TaskStatus.PENDING)
+                .priority(TaskPriority.HIGH)
+                .dueTo(LocalDateTime.now())
+                .build();
+        PageResponse<TaskResponse> own = taskService.getAllTasks(0, 10, "dueDate", "ASC", filter, assignee);
+        PageResponse<TaskResponse> assigned = taskService.getAllTasks(0, 10, "dueDate", "ASC",
+                TaskFilter.builder().assigneeId(assignee.getId()).build(), adminUser);
+
+        assertEquals(List.of(overdue.getId()), own.getContent().stream().map(TaskResponse::getId).toList());
+        assertEquals(3, assigned.getTotalElements());
+    }
+
+    @Test
+    void shouldRejectInvertedDueDateRange() {
+        TaskFilter filter = TaskFilter.builder()
+                .dueFrom(LocalDateTime.now())
+                .dueTo(LocalDateTime.now().minusDays(1))
+                .build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getAllTasks(0, 10, "createdAt", "DESC", filter, adminUser));
+    }
+
+    @Test
+    void shouldSearchTitleBeforeCommentsWithinVisibleTasks() {
+        String keyword = "kw" + UUID.randomUUID().toString().replace("-", "");
+        User owner = saveUser();
+        Task inComment = saveTask(owner, null);
+        Comment comment = new Comment();
+        comment.setContent("see " + keyword.toUpperCase() + " for details");
+        comment.setTask(inComment);
+        comment.setAuthor(owner);
+        commentRepository.save(comment);
+        Task inTitle = saveTask(owner, null);
+        inTitle.setTitle("Fix " + keyword);
+        taskRepository.save(inTitle);
+        Task foreign = saveTask(saveUser(), null);
+        foreign.setDescription(keyword);
+        taskRepository.save(foreign);
+
+        PageResponse<TaskResponse> own = taskService.searchTasks(keyword, 0, 10, owner);
+        PageResponse<TaskResponse> all = taskService.searchTasks(keyword, 0, 10, adminUser);
+
+        assertEquals(List.of(inTitle.getId(), inComment.getId()), own.getContent().stream().map(TaskResponse::getId).toList());
+        assertEquals(3, all.getTotalElements());
+        assertEquals(inTitle.getId(), all.getContent().get(0).getId());
+    }
+
+    @Test
+    void shouldRejectBlankSearchQuery() {
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(" ", 0, 10, adminUser));
+    }
+
+    @Test
+    void shouldExportAllTasksAsNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = taskExportService.exportTasks(TaskExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(taskRepository.count(), exported);
+        assertEquals(exported, lines.length);
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.contains("\"id\":" + testTask.getId() + ",")));
+    }
+
+    @Test
+    void shouldQuoteCsvValuesWhenExporting() throws Exception {
+        Task task = saveTask(saveUser(), null);
+        task.setTitle("Report, \"final\"");
+        taskRepository.save(task);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        taskExportService.exportTasks(TaskExportFormat.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,title,description,status,priority,"));
+        assertTrue(csv.contains("\n" + task.getId() + ",\"Report, \"\"final\"\"\","));
     }
 
     @Test
     void shouldAllowAdminToAssignTask() {
-        TaskResponse response = taskService.assignTask(testTask.getId(), regularUser.getId(), adminUser);
+        TaskResponse response = taskService.assignTask(testTask.getId(), regularUser.getId(), null, adminUser);
         assertEquals(regularUser.getId(), response.getAssigneeId());
     }
 
     @Test
     void shouldNotAllowUserToAssignTask() {
-        assertThrows(SecurityException.class, () -> taskService.assignTask(testTask.getId(), adminUser.getId(), regularUser));
+        assertThrows(SecurityException.class, () -> taskService.assignTask(testTask.getId(), adminUser.getId(), null, regularUser));
+    }
+
+    private User saveUser() {
+        User user = new User();
+        user.setEmail(UUID.randomUUID() + "@mail.com");
+        user.setPassword("password");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRole(Role.ROLE_USER);
+        return userRepository.save(user);
     }
 
+    private Task saveTask(User author, User assignee) {
+        Task task = new Task();
+        task.setTitle("Task of " + author.getEmail());
+        task.setStatus(TaskStatus.PENDING);
+        task.setPriority(TaskPriority.LOW);
+        task.setDueDate(LocalDateTime.now().plusDays(1));
+        task.setAuthor(author);
+        task.setAssignee(assignee);
+        return taskRepository.save(task);
+    }
 }
@@ -0,0 +1,18 @@
+-- Тестовые данные (профиль test): администратор, обычный пользователь и три задачи.
+-- Пароли adminpass и userpass, хеши BCrypt.
+-- Первый блок ID (1-50) зарезервирован под эти записи, последовательности начинаются с 51.
+
+INSERT INTO users (id, email, password, first_name, last_name, role)
+VALUES
+    (1, 'admin@mail.com', '$2a$10$/hV9D4dDLYiDJSEEepAKxeLlGX1/OBdSitkK1fgrxVRbtCEcQdwwu', 'Admin', 'User', 'ROLE_ADMIN'),
+    (2, 'user@mail.com', '$2a$10$816N26iZ3XyZhb1lFyId5O77Z5tWPbc5NfxXNK6chbyx3ZVFCY9he', 'Test', 'User', 'ROLE_USER');
+
+INSERT INTO tasks (id, title, description, status, priority, due_date, author_id)
+VALUES
+    (1, 'API - task', 'Создать API для управления задачами', 'PENDING', 'HIGH', '2025-03-15 23:59:59', 1),
+    (2, 'API - user', 'Создать API для управления пользователями', 'PENDING', 'HIGH', '2025-03-15 23:59:59', 2),
+    (3, 'API - comment', 'Создать API для управления коментариями', 'PENDING', 'HIGH', '2025-03-15 23:59:59', 2);
+
+ALTER SEQUENCE users_seq RESTART WITH 51;
+ALTER SEQUENCE tasks_seq RESTART WITH 51;
+ALTER SEQUENCE comments_seq RESTART WITH 51;